@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.perf
+
+import groovy.json.JsonOutput
+import groovy.json.JsonSlurper
+import nebula.test.IntegrationTestKitSpec
+import spock.lang.IgnoreIf
+import spock.lang.Shared
+
+/**
+ * Measures a generated large build, see {@link LargeBuildScenario}, in each combination of core BOM support and eager
+ * BOM resolution through the shared build service. Only runs from the performanceTest task.
+ */
+@IgnoreIf({ !Boolean.getBoolean('nebula.dependency-recommender.performance') })
+class LargeBuildPerformanceSpec extends IntegrationTestKitSpec {
+    @Shared
+    List<Map<String, Object>> measurements = []
+
+    LargeBuildScenario scenario = LargeBuildScenario.fromSystemProperties()
+    int warmups = Integer.getInteger(LargeBuildScenario.PROPERTY_PREFIX + 'warmups', 1)
+    int iterations = Integer.getInteger(LargeBuildScenario.PROPERTY_PREFIX + 'iterations', 3)
+
+    def setup() {
+        definePluginOutsideOfPluginBlock = true
+    }
+
+    def cleanup() {
+        System.clearProperty('nebula.features.coreBomSupport')
+    }
+
+    def cleanupSpec() {
+        def report = new File(System.getProperty(LargeBuildScenario.PROPERTY_PREFIX + 'report', 'build/reports/performance/large-build.json'))
+        report.parentFile.mkdirs()
+        report.text = JsonOutput.prettyPrint(JsonOutput.toJson([scenario: LargeBuildScenario.fromSystemProperties().parameters(), measurements: measurements]))
+    }
+
+    def 'large build with core BOM support #coreBomSupport and eager resolution #eagerlyResolve'() {
+        def repository = new File(projectDir, 'build/perfrepo')
+        scenario.writeRepository(repository)
+        // the feature flag is read once per daemon, so each mode gets a daemon of its own through its JVM arguments
+        new File(projectDir, 'gradle.properties') << """\
+            systemProp.nebula.features.coreBomSupport=${coreBomSupport}
+            org.gradle.jvmargs=-Xmx2g -Dnebula.features.coreBomSupport=${coreBomSupport}
+            org.gradle.configuration-cache=false
+            """.stripIndent()
+        def probe = new File(projectDir, 'build/memory-probe.json')
+        settingsFile << LargeBuildScenario.memoryProbe(probe)
+        buildFile << scenario.rootBuildScript(repository, eagerlyResolve)
+        for (int i = 0; i < scenario.subprojects; i++) {
+            addSubproject("sub${i}", scenario.subprojectBuildScript(i))
+        }
+        def recommended = scenario.directDependenciesOf(0).find { !scenario.isForced(it) }
+        def forced = scenario.directDependenciesOf(0).find { scenario.isForced(it) }
+
+        when:
+        measure(probe, 'configuration', [coreBomSupport: coreBomSupport, eagerlyResolve: eagerlyResolve], 'help')
+        def result = measure(probe, 'dependencies', [coreBomSupport: coreBomSupport, eagerlyResolve: eagerlyResolve],
+                'dependencies', '--configuration', 'compileClasspath')
+
+        then:
+        recommended == null || result.output.contains("${scenario.coordinates(recommended)} -> 1.1.0")
+        forced == null || result.output.contains("${scenario.coordinates(forced)} -> 1.0.0")
+
+        where:
+        coreBomSupport | eagerlyResolve
+        false          | true
+        false          | false
+        true           | true
+        true           | false
+    }
+
+    private def measure(File probe, String phase, Map<String, Object> mode, String... tasks) {
+        def result = null
+        for (int i = 0; i < warmups + iterations; i++) {
+            probe.delete()
+            long start = System.nanoTime()
+            result = runTasks(tasks)
+            long wallMillis = (System.nanoTime() - start).intdiv(1_000_000L)
+            if (i >= warmups) {
+                def memory = new JsonSlurper().parse(probe) as Map
+                measurements << ([phase: phase] + mode + [iteration: i - warmups, wallMillis: wallMillis] + memory)
+                println "${phase} ${mode}: ${wallMillis} ms, peak heap ${memory.peakHeapBytes.intdiv(1024 * 1024)} MiB, ${memory.gcCount} GCs (${memory.gcMillis} ms)"
+            }
+        }
+        return result
+    }
+}
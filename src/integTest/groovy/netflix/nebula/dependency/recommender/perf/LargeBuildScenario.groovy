@@ -0,0 +1,253 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.perf
+
+/**
+ * Generates a synthetic large build: a local Maven repository of modules and BOMs, and the scripts of a root project
+ * and its subprojects that take their versions from those BOMs.
+ *
+ * Module i depends on the next {@code fanOut} modules of a tree, so the graph behind every direct dependency is as
+ * wide as the fan-out and as deep as log(modules). Every module is published at 1.0.0 and 1.1.0. BOM b manages the
+ * modules whose index modulo the number of BOMs is b at 1.1.0, and reads that version from a property declared at
+ * some level of its chain of {@code parentDepth} parent POMs. The first {@code forcedModules} modules are forced to
+ * 1.0.0 in every configuration. Everything is derived from the parameters, so two scenarios with the same parameters
+ * generate the same build.
+ */
+class LargeBuildScenario {
+    static final String PROPERTY_PREFIX = 'nebula.dependency-recommender.performance.'
+
+    int subprojects = 20
+    int boms = 3
+    int parentDepth = 2
+    int modules = 300
+    int fanOut = 3
+    int forcedModules = 10
+    int directDependencies = 10
+
+    /**
+     * Reads each parameter from a system property named after it, e.g.
+     * {@code -Dnebula.dependency-recommender.performance.subprojects=200}.
+     */
+    static LargeBuildScenario fromSystemProperties() {
+        def scenario = new LargeBuildScenario()
+        parameterNames().each { String name ->
+            scenario.setProperty(name, Integer.getInteger(PROPERTY_PREFIX + name, scenario.getProperty(name) as Integer))
+        }
+        return scenario
+    }
+
+    static List<String> parameterNames() {
+        ['subprojects', 'boms', 'parentDepth', 'modules', 'fanOut', 'forcedModules', 'directDependencies']
+    }
+
+    Map<String, Integer> parameters() {
+        parameterNames().collectEntries { [(it): getProperty(it) as Integer] }
+    }
+
+    String group(int module) {
+        "perf.g${module % 10}"
+    }
+
+    String coordinates(int module) {
+        "${group(module)}:module${module}"
+    }
+
+    boolean isForced(int module) {
+        module < forcedModules
+    }
+
+    List<Integer> directDependenciesOf(int subproject) {
+        (0..<directDependencies).collect { (subproject * 7 + it * 13) % modules }.unique()
+    }
+
+    List<Integer> dependenciesOf(int module) {
+        (1..fanOut).collect { module * fanOut + it }.findAll { it < modules }
+    }
+
+    void writeRepository(File root) {
+        for (int module = 0; module < modules; module++) {
+            def dependencies = dependenciesOf(module).collect { dependency ->
+                """\
+                    |    <dependency>
+                    |      <groupId>${group(dependency)}</groupId>
+                    |      <artifactId>module${dependency}</artifactId>
+                    |      <version>1.0.0</version>
+                    |    </dependency>
+                    |""".stripMargin()
+            }.join('')
+            ['1.0.0', '1.1.0'].each { version ->
+                writePom(root, group(module), "module${module}", version, '', """\
+                    |  <dependencies>
+                    |${dependencies}  </dependencies>
+                    |""".stripMargin())
+            }
+        }
+
+        for (int bom = 0; bom < boms; bom++) {
+            for (int depth = 0; depth < parentDepth; depth++) {
+                writePom(root, 'perf.bom', "bom${bom}-parent${depth}", '1.0.0',
+                        depth > 0 ? parent(bom, depth - 1) : '', """\
+                            |  <packaging>pom</packaging>
+                            |  <properties>
+                            |    <perf.parent${depth}.version>1.1.0</perf.parent${depth}.version>
+                            |  </properties>
+                            |""".stripMargin())
+            }
+            def managed = (0..<modules).findAll { it % boms == bom }.collect { module ->
+                String version = parentDepth > 0 ? "\${perf.parent${module % parentDepth}.version}" : '1.1.0'
+                """\
+                    |      <dependency>
+                    |        <groupId>${group(module)}</groupId>
+                    |        <artifactId>module${module}</artifactId>
+                    |        <version>${version}</version>
+                    |      </dependency>
+                    |""".stripMargin()
+            }.join('')
+            writePom(root, 'perf.bom', "bom${bom}", '1.0.0',
+                    parentDepth > 0 ? parent(bom, parentDepth - 1) : '', """\
+                        |  <packaging>pom</packaging>
+                        |  <dependencyManagement>
+                        |    <dependencies>
+                        |${managed}    </dependencies>
+                        |  </dependencyManagement>
+                        |""".stripMargin())
+        }
+    }
+
+    /**
+     * The root build script, which applies the plugin to every project.
+     *
+     * @param repository the repository written by {@link #writeRepository(File)}
+     * @param eagerlyResolve whether BOMs are resolved eagerly through the shared build service
+     */
+    String rootBuildScript(File repository, boolean eagerlyResolve) {
+        def mavenBoms = (0..<boms).collect { "mavenBom module: 'perf.bom:bom${it}:1.0.0'" }.join('\n' + ' ' * 20)
+        def forces = (0..<forcedModules).collect { "force '${coordinates(it)}:1.0.0'" }.join('\n' + ' ' * 24)
+        """\
+            allprojects {
+                apply plugin: 'java'
+                apply plugin: 'com.netflix.nebula.dependency-recommender'
+
+                repositories {
+                    maven { url = '${repository.absoluteFile.toURI()}' }
+                }
+
+                dependencyRecommendations {
+                    eagerlyResolve.set(${eagerlyResolve})
+                    ${mavenBoms}
+                }
+
+                configurations.configureEach {
+                    resolutionStrategy {
+                        ${forces}
+                    }
+                }
+            }
+            """.stripIndent()
+    }
+
+    String subprojectBuildScript(int subproject) {
+        def dependencies = directDependenciesOf(subproject).collect { "implementation '${coordinates(it)}'" }
+        if (subproject % 5 != 0) {
+            dependencies << "implementation project(':sub${subproject - 1}')"
+        }
+        """\
+            dependencies {
+                ${dependencies.join('\n' + ' ' * 16)}
+            }
+            """.stripIndent()
+    }
+
+    /**
+     * A settings script fragment that records the peak heap and the garbage collections of one build in the daemon
+     * that runs it, and writes them as JSON to {@code report} when the build finishes.
+     */
+    static String memoryProbe(File report) {
+        """\
+            abstract class LargeBuildMemoryProbe implements BuildService<BuildServiceParameters.None>, AutoCloseable {
+                private final long collections
+                private final long collectionMillis
+
+                LargeBuildMemoryProbe() {
+                    System.gc()
+                    for (def pool : java.lang.management.ManagementFactory.memoryPoolMXBeans) {
+                        pool.resetPeakUsage()
+                    }
+                    collections = collectionCount()
+                    collectionMillis = collectionTime()
+                }
+
+                private static long collectionCount() {
+                    long count = 0
+                    for (def collector : java.lang.management.ManagementFactory.garbageCollectorMXBeans) {
+                        count += collector.collectionCount
+                    }
+                    return count
+                }
+
+                private static long collectionTime() {
+                    long millis = 0
+                    for (def collector : java.lang.management.ManagementFactory.garbageCollectorMXBeans) {
+                        millis += collector.collectionTime
+                    }
+                    return millis
+                }
+
+                @Override
+                void close() {
+                    // the sum of the per-pool peaks, which can be more than the heap ever held at once
+                    long peakHeap = 0
+                    for (def pool : java.lang.management.ManagementFactory.memoryPoolMXBeans) {
+                        if (pool.type == java.lang.management.MemoryType.HEAP) {
+                            peakHeap += pool.peakUsage.used
+                        }
+                    }
+                    new File('${report.absolutePath.replace('\\', '/')}').text = groovy.json.JsonOutput.toJson([
+                            peakHeapBytes: peakHeap,
+                            gcCount: collectionCount() - collections,
+                            gcMillis: collectionTime() - collectionMillis
+                    ])
+                }
+            }
+
+            gradle.sharedServices.registerIfAbsent('largeBuildMemoryProbe', LargeBuildMemoryProbe) {}.get()
+            """.stripIndent()
+    }
+
+    private static String parent(int bom, int depth) {
+        """\
+            |  <parent>
+            |    <groupId>perf.bom</groupId>
+            |    <artifactId>bom${bom}-parent${depth}</artifactId>
+            |    <version>1.0.0</version>
+            |  </parent>
+            |""".stripMargin()
+    }
+
+    private static void writePom(File root, String group, String artifact, String version, String parent, String body) {
+        def dir = new File(root, "${group.replace('.', '/')}/${artifact}/${version}")
+        dir.mkdirs()
+        new File(dir, "${artifact}-${version}.pom").text = """\
+            |<?xml version="1.0" encoding="UTF-8"?>
+            |<project xmlns="http://maven.apache.org/POM/4.0.0">
+            |  <modelVersion>4.0.0</modelVersion>
+            |${parent}  <groupId>${group}</groupId>
+            |  <artifactId>${artifact}</artifactId>
+            |  <version>${version}</version>
+            |${body}</project>
+            |""".stripMargin()
+    }
+}
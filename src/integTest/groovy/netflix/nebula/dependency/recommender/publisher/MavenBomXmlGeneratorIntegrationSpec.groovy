@@ -193,4 +193,114 @@ class MavenBomXmlGeneratorIntegrationSpec extends IntegrationSpec {
             }
         }
     }
+
+    def 'dependencyManagement fragment is up-to-date when the managed dependencies do not change'() {
+        def graph = new DependencyGraphBuilder().addModule('test0:test0:1.0.0')
+                .build()
+        def generator = new GradleDependencyGenerator(graph, "$projectDir/mytestrepo")
+        generator.generateTestMavenRepo()
+        buildFile << """\
+            plugins {
+                id 'nebula.maven-publish' version '5.1.0'
+            }
+            
+            apply plugin: 'com.netflix.nebula.dependency-recommender'
+            
+            group = 'test.nebula'
+            version = '0.1.0'
+            
+            repositories {
+                ${generator.mavenRepositoryBlock}
+            }
+            
+            configurations {
+                recommendation
+            }
+            
+            dependencies {
+                recommendation 'test0:test0:1.0.0'
+            }
+            
+            publishing {
+                publications {
+                    recommender(MavenPublication) {
+                        project.nebulaDependencyManagement.fromConfigurations {
+                            project.configurations.recommendation
+                        }
+                        project.nebulaDependencyManagement.withDependencies { 'manual:dep:1' }
+                    }
+                }
+            }
+            """.stripIndent()
+
+        when:
+        def first = runTasks('generatePomFileForRecommenderPublication')
+        def second = runTasks('generatePomFileForRecommenderPublication')
+
+        then:
+        first.wasExecuted(':generateDependencyManagementForRecommenderPublication')
+        second.wasUpToDate(':generateDependencyManagementForRecommenderPublication')
+        new File(projectDir, 'build/publications/recommender/dependency-management.xml').exists()
+
+        def reader = new XmlSlurper().parse(new File(projectDir, 'build/publications/recommender/pom-default.xml'))
+        reader.dependencyManagement.dependencies.dependency.size() == 2
+        reader.dependencyManagement.dependencies.dependency.artifactId*.text() == ['test0', 'dep']
+    }
+
+    def 'pom is generated when the configuration cache is stored and reused'() {
+        def graph = new DependencyGraphBuilder().addModule('test0:test0:1.0.0')
+                .build()
+        def generator = new GradleDependencyGenerator(graph, "$projectDir/mytestrepo")
+        generator.generateTestMavenRepo()
+        buildFile << """\
+            plugins {
+                id 'nebula.maven-publish' version '5.1.0'
+            }
+            
+            apply plugin: 'com.netflix.nebula.dependency-recommender'
+            
+            group = 'test.nebula'
+            version = '0.1.0'
+            
+            repositories {
+                ${generator.mavenRepositoryBlock}
+            }
+            
+            configurations {
+                recommendation
+            }
+            
+            dependencies {
+                recommendation 'test0:test0:1.0.0'
+            }
+            
+            nebulaDependencyManagement.sortManagedDependencies = true
+            
+            publishing {
+                publications {
+                    recommender(MavenPublication) {
+                        project.nebulaDependencyManagement.fromConfigurations {
+                            project.configurations.recommendation
+                        }
+                        project.nebulaDependencyManagement.withDependencies { 'manual:dep:1' }
+                    }
+                }
+            }
+            """.stripIndent()
+        def pom = new File(projectDir, 'build/publications/recommender/pom-default.xml')
+
+        when:
+        def stored = runTasks('--configuration-cache', 'generatePomFileForRecommenderPublication')
+        def storedPom = pom.text
+        pom.delete()
+        def reused = runTasks('--configuration-cache', 'generatePomFileForRecommenderPublication')
+
+        then:
+        stored.standardOutput.contains('Calculating task graph')
+        reused.standardOutput.contains('Reusing configuration cache')
+        pom.text == storedPom
+
+        def reader = new XmlSlurper().parse(pom)
+        reader.dependencyManagement.dependencies.dependency.artifactId*.text() == ['test0', 'dep']
+    }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.provider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Version lookups against a glob-heavy set of properties, as a properties file provider would make them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FuzzyVersionResolverBenchmark {
+    @Param({"100", "1000"})
+    int globs;
+
+    @Param({"10000"})
+    int exactVersions;
+
+    private FuzzyVersionResolver resolver;
+    private String[] exactKeys;
+    private String[] globKeys;
+    private String[] missingKeys;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        final Map<String, String> properties = new HashMap<>();
+        exactKeys = new String[exactVersions];
+        for (int i = 0; i < exactVersions; i++) {
+            exactKeys[i] = "org.exact" + (i % 100) + "/artifact-" + i;
+            properties.put(exactKeys[i], "1." + i);
+        }
+        globKeys = new String[globs];
+        missingKeys = new String[globs];
+        for (int i = 0; i < globs; i++) {
+            properties.put("org.glob" + i + "/*", "2." + i);
+            properties.put("org.glob" + i + "/module-*-core", "3." + i);
+            globKeys[i] = "org.glob" + i + "/module-" + i + "-core";
+            missingKeys[i] = "org.missing" + i + "/artifact-" + i;
+        }
+
+        resolver = new FuzzyVersionResolver() {
+            @Override
+            protected Collection<String> propertyNames() {
+                return properties.keySet();
+            }
+
+            @Override
+            protected String propertyValue(String name) {
+                return properties.get(name);
+            }
+        };
+        // builds the glob cache outside of the measurement
+        resolver.versionOf(missingKeys[0]);
+    }
+
+    @Benchmark
+    public String exactMatch() {
+        return resolver.versionOf(exactKeys[next++ % exactKeys.length]);
+    }
+
+    @Benchmark
+    public String globMatch() {
+        return resolver.versionOf(globKeys[next++ % globKeys.length]);
+    }
+
+    @Benchmark
+    public String noMatch() {
+        return resolver.versionOf(missingKeys[next++ % missingKeys.length]);
+    }
+}
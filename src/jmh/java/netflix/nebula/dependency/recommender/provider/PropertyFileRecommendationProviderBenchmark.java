@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.provider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a generated properties file and answering the first lookup from it. The provider has no project, so every
+ * load parses the file rather than sharing an earlier parse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyFileRecommendationProviderBenchmark {
+    @Param({"1000", "10000"})
+    int entries;
+
+    /**
+     * One in this many entries is a glob
+     */
+    @Param({"10"})
+    int globEvery;
+
+    private byte[] properties;
+
+    @Setup
+    public void setUp() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < entries; i++) {
+            if (i % globEvery == 0) {
+                text.append("org.group").append(i).append("/*-core = 2.").append(i).append('\n');
+            } else {
+                text.append("org.group").append(i % 100).append(":artifact-").append(i)
+                        .append(" = 1.").append(i).append(" # generated\n");
+            }
+        }
+        properties = text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String loadAndLookUp() throws Exception {
+        PropertyFileRecommendationProvider provider = new PropertyFileRecommendationProvider(null);
+        provider.setInputStream(new ByteArrayInputStream(properties));
+        return provider.getVersion("org.group0", "artifact-1-core");
+    }
+}
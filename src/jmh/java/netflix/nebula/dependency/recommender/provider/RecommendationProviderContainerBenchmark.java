@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.provider;
+
+import netflix.nebula.dependency.recommender.DependencyRecommendationsPlugin;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.ModuleIdentifier;
+import org.gradle.api.internal.artifacts.DefaultModuleIdentifier;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups through a container of several providers, which are polled last to first. The modules looked up are only
+ * known to the first provider, so every lookup has to pass all of the others.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-opens=java.base/java.lang=ALL-UNNAMED", "--add-opens=java.base/java.util=ALL-UNNAMED"})
+public class RecommendationProviderContainerBenchmark {
+    @Param({"2", "10"})
+    int providers;
+
+    @Param({"2000"})
+    int versionsPerProvider;
+
+    private RecommendationProviderContainer container;
+    private String[] groups;
+    private String[] names;
+    private List<ModuleIdentifier> batch;
+    private int next;
+
+    @Setup
+    public void setUp() throws Exception {
+        Project project = ProjectBuilder.builder().build();
+        project.getPluginManager().apply(DependencyRecommendationsPlugin.class);
+        container = project.getExtensions().getByType(RecommendationProviderContainer.class);
+
+        groups = new String[versionsPerProvider];
+        names = new String[versionsPerProvider];
+        batch = new ArrayList<>();
+        StringBuilder properties = new StringBuilder();
+        for (int i = 0; i < versionsPerProvider; i++) {
+            groups[i] = "org.first" + (i % 50);
+            names[i] = "artifact-" + i;
+            properties.append(groups[i]).append(':').append(names[i]).append(" = 1.").append(i).append('\n');
+            batch.add(DefaultModuleIdentifier.newId(groups[i], names[i]));
+        }
+        PropertyFileRecommendationProvider first = new PropertyFileRecommendationProvider(project);
+        first.setInputStream(new ByteArrayInputStream(properties.toString().getBytes(StandardCharsets.UTF_8)));
+        first.setName("properties");
+        container.addFirst(first);
+
+        for (int p = 1; p < providers; p++) {
+            Map<String, String> recommendations = new HashMap<>();
+            for (int i = 0; i < versionsPerProvider; i++) {
+                recommendations.put("org.other" + p + ":artifact-" + i, "2." + i);
+            }
+            Map<String, Object> args = new HashMap<>();
+            args.put("name", "map" + p);
+            args.put("recommendations", recommendations);
+            container.map(args);
+        }
+        // loads the properties outside of the measurement
+        container.getRecommendedVersion(groups[0], names[0]);
+    }
+
+    @Benchmark
+    public String recommendedVersion() {
+        int i = next++ % groups.length;
+        return container.getRecommendedVersion(groups[i], names[i]);
+    }
+
+    @Benchmark
+    public String missingVersion() {
+        return container.getRecommendedVersion("org.missing", names[next++ % names.length]);
+    }
+
+    @Benchmark
+    public Map<ModuleIdentifier, String> recommendedVersionsInOneBatch() {
+        return container.getRecommendedVersions(batch);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.publisher;
+
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
+import org.gradle.api.internal.artifacts.DefaultModuleVersionIdentifier;
+import org.gradle.internal.xml.XmlTransformer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing the dependencyManagement section of a large BOM into a POM, through the node tree and streamed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MavenBomXmlGeneratorBenchmark {
+    private static final String POM = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+            "<project xmlns=\"http://maven.apache.org/POM/4.0.0\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">\n" +
+            "  <modelVersion>4.0.0</modelVersion>\n" +
+            "  <groupId>sample</groupId>\n" +
+            "  <artifactId>platform</artifactId>\n" +
+            "  <version>1.0.0</version>\n" +
+            "  <packaging>pom</packaging>\n" +
+            "</project>\n";
+
+    @Param({"1000", "15000"})
+    int entries;
+
+    private List<ModuleVersionIdentifier> dependencies;
+
+    @Setup
+    public void setUp() {
+        dependencies = new ArrayList<>();
+        for (int i = 0; i < entries; i++) {
+            dependencies.add(DefaultModuleVersionIdentifier.newId("org.group" + (i % 300), "artifact-" + i, "1." + i + ".0"));
+        }
+        // the generator sees managed dependencies in resolution order, not sorted
+        Collections.shuffle(dependencies, new Random(42));
+    }
+
+    @Benchmark
+    public String nodeTree() {
+        XmlTransformer transformer = new XmlTransformer();
+        transformer.addAction(xml -> MavenBomXmlGenerator.appendDependencyManagementXml(xml.asNode(), dependencies));
+        return transformer.transform(POM);
+    }
+
+    @Benchmark
+    public String streamed() {
+        XmlTransformer transformer = new XmlTransformer();
+        transformer.addAction(xml -> MavenBomXmlGenerator.streamDependencyManagementXml(xml, DependencyManagementXmlWriter.sortedDistinct(dependencies)));
+        return transformer.transform(POM);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.service;
+
+import org.gradle.api.Project;
+import org.gradle.testfixtures.ProjectBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Building the effective model of a generated BOM whose versions are interpolated from a chain of parent POMs, which
+ * are resolved from a local Maven repository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-opens=java.base/java.lang=ALL-UNNAMED", "--add-opens=java.base/java.util=ALL-UNNAMED"})
+public class BomResolverServiceBenchmark {
+    @Param({"1000", "10000"})
+    int entries;
+
+    @Param({"0", "5"})
+    int parentDepth;
+
+    private Path workDir;
+    private Project project;
+    private BomResolverService service;
+    private File bom;
+
+    @Setup
+    public void setUp() throws IOException {
+        workDir = Files.createTempDirectory("bom-benchmark");
+        Path repo = workDir.resolve("repo");
+
+        for (int depth = 0; depth < parentDepth; depth++) {
+            StringBuilder pom = new StringBuilder();
+            pom.append("<project>\n  <modelVersion>4.0.0</modelVersion>\n");
+            if (depth > 0) {
+                appendParent(pom, depth - 1);
+            }
+            pom.append("  <groupId>sample</groupId>\n  <artifactId>parent").append(depth).append("</artifactId>\n")
+                    .append("  <version>1.0.0</version>\n  <packaging>pom</packaging>\n  <properties>\n")
+                    .append("    <version.parent").append(depth).append(">").append(depth).append(".0.0</version.parent")
+                    .append(depth).append(">\n  </properties>\n</project>\n");
+            Path file = repo.resolve("sample/parent" + depth + "/1.0.0/parent" + depth + "-1.0.0.pom");
+            Files.createDirectories(file.getParent());
+            Files.write(file, pom.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        StringBuilder pom = new StringBuilder();
+        pom.append("<project>\n  <modelVersion>4.0.0</modelVersion>\n");
+        if (parentDepth > 0) {
+            appendParent(pom, parentDepth - 1);
+        }
+        pom.append("  <groupId>sample</groupId>\n  <artifactId>bom</artifactId>\n  <version>1.0.0</version>\n")
+                .append("  <packaging>pom</packaging>\n  <dependencyManagement>\n    <dependencies>\n");
+        for (int i = 0; i < entries; i++) {
+            String version = parentDepth > 0 ? "${version.parent" + (i % parentDepth) + "}" : "1." + i;
+            pom.append("      <dependency>\n        <groupId>org.group").append(i % 100).append("</groupId>\n")
+                    .append("        <artifactId>artifact-").append(i).append("</artifactId>\n")
+                    .append("        <version>").append(version).append("</version>\n      </dependency>\n");
+        }
+        pom.append("    </dependencies>\n  </dependencyManagement>\n</project>\n");
+        bom = workDir.resolve("bom-1.0.0.pom").toFile();
+        Files.write(bom.toPath(), pom.toString().getBytes(StandardCharsets.UTF_8));
+
+        File projectDir = workDir.resolve("project").toFile();
+        project = ProjectBuilder.builder().withProjectDir(projectDir).build();
+        project.getRepositories().maven(maven -> maven.setUrl(repo.toUri()));
+        service = project.getGradle().getSharedServices()
+                .registerIfAbsent("bomResolver", BomResolverService.class, spec -> {}).get();
+    }
+
+    private static void appendParent(StringBuilder pom, int depth) {
+        pom.append("  <parent>\n    <groupId>sample</groupId>\n    <artifactId>parent").append(depth)
+                .append("</artifactId>\n    <version>1.0.0</version>\n  </parent>\n");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(workDir)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public Map<String, String> parseBom() throws Exception {
+        return service.parseBom(bom, project, new HashSet<>());
+    }
+}
@@ -18,10 +18,17 @@ package netflix.nebula.dependency.recommender;
 import com.netflix.nebula.interop.ConfigurationsKt;
 import kotlin.Unit;
 import kotlin.jvm.functions.Function1;
+import netflix.nebula.dependency.recommender.jfr.RecommendationDecisionEvent;
+import netflix.nebula.dependency.recommender.index.CompileRecommendationIndexTask;
+import netflix.nebula.dependency.recommender.index.RecommendationIndex;
 import netflix.nebula.dependency.recommender.provider.RecommendationProviderContainer;
+import netflix.nebula.dependency.recommender.provider.RecommendationSnapshot;
 import netflix.nebula.dependency.recommender.provider.RecommendationResolver;
 import netflix.nebula.dependency.recommender.publisher.MavenBomXmlGenerator;
 import netflix.nebula.dependency.recommender.service.BomResolverService;
+import netflix.nebula.dependency.recommender.service.ProjectRecommendationService;
+import netflix.nebula.dependency.recommender.stats.RecommendationStatistics;
+import netflix.nebula.dependency.recommender.stats.RecommendationStatsTask;
 import netflix.nebula.dependency.recommender.util.BomResolutionUtil;
 import org.apache.commons.lang3.StringUtils;
 import org.codehaus.groovy.runtime.MethodClosure;
@@ -34,32 +41,51 @@ import org.gradle.api.artifacts.Dependency;
 import org.gradle.api.artifacts.DependencyResolveDetails;
 import org.gradle.api.artifacts.DependencySet;
 import org.gradle.api.artifacts.ExternalModuleDependency;
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
 import org.gradle.api.artifacts.ModuleVersionSelector;
 import org.gradle.api.artifacts.ProjectDependency;
 import org.gradle.api.artifacts.ResolvableDependencies;
+import org.gradle.api.configuration.BuildFeatures;
+import org.gradle.api.internal.artifacts.dependencies.DefaultExternalModuleDependency;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.gradle.api.plugins.ExtraPropertiesExtension;
 import org.gradle.api.provider.Provider;
 import org.gradle.util.GradleVersion;
 
+import javax.inject.Inject;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class DependencyRecommendationsPlugin implements Plugin<Project> {
     public static final String NEBULA_RECOMMENDER_BOM = "nebulaRecommenderBom";
     public static final boolean CORE_BOM_SUPPORT_ENABLED = Boolean.getBoolean("nebula.features.coreBomSupport");
+    public static final String ISOLATED_PROJECTS_PROPERTY = "nebula.dependency-recommender.isolatedProjects";
     private static final GradleVersion GRADLE_9_0 = GradleVersion.version("9.0");
     private static final AtomicInteger COPY_COUNT = new AtomicInteger();
     private Logger logger = Logging.getLogger(DependencyRecommendationsPlugin.class);
     private RecommendationProviderContainer recommendationProviderContainer;
+    // in isolated projects mode, recommendations and dependency declarations of other projects are only reached through this service
+    private Provider<ProjectRecommendationService> projectRecommendations;
     //TODO: remove this exclusion once https://github.com/gradle/gradle/issues/6750 is resolved
     private final String SCALA_ANALYSIS_CONFIGURATION_PREFIX = "incrementalScalaAnalysis";
 
+    private final BuildFeatures buildFeatures;
+
+    @Inject
+    public DependencyRecommendationsPlugin(BuildFeatures buildFeatures) {
+        this.buildFeatures = buildFeatures;
+    }
+
     @Override
     public void apply(final Project project) {
         Configuration bomConfiguration = project.getConfigurations().create(NEBULA_RECOMMENDER_BOM);
         recommendationProviderContainer = project.getExtensions().create("dependencyRecommendations", RecommendationProviderContainer.class, project);
+        if (isIsolatedProjects(project)) {
+            logger.info(project.getName() + ":isolated projects mode enabled");
+            projectRecommendations = ProjectRecommendationService.register(project);
+        }
 
         if (CORE_BOM_SUPPORT_ENABLED) {
             logger.info(project.getName() + ":coreBomSupport feature enabled");
@@ -73,46 +99,136 @@ public class DependencyRecommendationsPlugin implements Plugin<Project> {
             applyRecommendations(project);
             enhanceDependenciesWithRecommender(project);
         }
+        if (projectRecommendations != null) {
+            publishProjectRecommendations(project);
+        }
         enhancePublicationsWithBomProducer(project);
+        registerStatsTask(project);
+        registerCompileIndexTask(project);
+    }
+
+    /**
+     * Publishes the recommendations and dependency declarations of a project once it has been evaluated, after BOMs
+     * are eagerly resolved, so that other projects only ever read values frozen by the project itself.
+     */
+    private void publishProjectRecommendations(final Project project) {
+        project.afterEvaluate(new Action<Project>() {
+            @Override
+            public void execute(Project p) {
+                // in core BOM mode, recommendations come from platforms, which are not looked up through the service
+                projectRecommendations.get().publish(p, CORE_BOM_SUPPORT_ENABLED ? null : recommendationProviderContainer, NEBULA_RECOMMENDER_BOM);
+            }
+        });
     }
 
     private void applyRecommendationsDirectly(final Project project, final Configuration bomConfiguration) {
+        if (projectRecommendations != null) {
+            applyRecommendationsDirectlyInIsolation(project, bomConfiguration);
+            return;
+        }
+        // subprojects are wired as each of them starts being evaluated rather than all at once, so that a build
+        // configuring only some of them, e.g. with --configure-on-demand, does not configure the others. Wiring them
+        // before their own build script runs lets configurations resolved from it, or from its afterEvaluate actions,
+        // see the BOMs too.
+        final List<Project> evaluatedBeforeProject = new ArrayList<>();
+        final boolean[] projectEvaluated = new boolean[1];
+        project.getGradle().beforeProject(new Action<Project>() {
+            @Override
+            public void execute(Project sub) {
+                if (!isDescendant(sub, project)) {
+                    return;
+                }
+                if (projectEvaluated[0]) {
+                    extendRecommenderConfigurations(sub, bomConfiguration);
+                } else {
+                    evaluatedBeforeProject.add(sub);
+                }
+            }
+        });
         project.afterEvaluate(new Action<Project>() {
             @Override
             public void execute(Project p) {
-                // Eagerly resolve and cache all BOMs if using build service approach
-                if (shouldUseBuildService(p) && BomResolutionUtil.shouldEagerlyResolveBoms(p, recommendationProviderContainer)) {
-                    BomResolutionUtil.eagerlyResolveBoms(p, recommendationProviderContainer, NEBULA_RECOMMENDER_BOM);
+                projectEvaluated[0] = true;
+                extendRecommenderConfigurations(p, bomConfiguration);
+                // subprojects evaluated first, e.g. because of evaluationDependsOnChildren
+                for (Project sub : evaluatedBeforeProject) {
+                    extendRecommenderConfigurations(sub, bomConfiguration);
                 }
-                
-                p.getConfigurations().all(new ExtendRecommenderConfigurationAction(bomConfiguration, p, recommendationProviderContainer, COPY_COUNT));
-                p.subprojects(new Action<Project>() {
-                    @Override
-                    public void execute(Project sub) {
-                        // Also eagerly resolve BOMs for subprojects if using build service
-                        if (shouldUseBuildService(sub) && BomResolutionUtil.shouldEagerlyResolveBoms(sub, recommendationProviderContainer)) {
-                            BomResolutionUtil.eagerlyResolveBoms(sub, recommendationProviderContainer, NEBULA_RECOMMENDER_BOM);
-                        }
-                        sub.getConfigurations().all(new ExtendRecommenderConfigurationAction(bomConfiguration, sub, recommendationProviderContainer, COPY_COUNT));
-                    }
-                });
+                evaluatedBeforeProject.clear();
             }
         });
     }
+
+    private void extendRecommenderConfigurations(Project target, Configuration bomConfiguration) {
+        // Eagerly resolve and cache all BOMs if using build service approach
+        scheduleEagerResolution(target);
+        target.getConfigurations().configureEach(new ExtendRecommenderConfigurationAction(bomConfiguration, target, recommendationProviderContainer, COPY_COUNT));
+    }
+
+    private static boolean isDescendant(Project candidate, Project ancestor) {
+        for (Project p = candidate.getParent(); p != null; p = p.getParent()) {
+            if (p == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
     
 
+    /**
+     * Like {@link #applyRecommendationsDirectly}, but without configuring subprojects, which then have to apply the
+     * plugin themselves. The BOMs declared in the root project reach them through the {@link ProjectRecommendationService}.
+     */
+    private void applyRecommendationsDirectlyInIsolation(final Project project, final Configuration bomConfiguration) {
+        final String path = project.getPath();
+        if (!path.equals(Project.PATH_SEPARATOR)) {
+            bomConfiguration.getDependencies().addAllLater(project.provider(new Callable<List<Dependency>>() {
+                @Override
+                public List<Dependency> call() {
+                    List<Dependency> inherited = new ArrayList<>();
+                    for (Dependency dependency : projectRecommendations.get().getBomDependencies(Project.PATH_SEPARATOR)) {
+                        inherited.add(dependency.copy());
+                    }
+                    return inherited;
+                }
+            }));
+        }
+        project.afterEvaluate(new Action<Project>() {
+            @Override
+            public void execute(Project p) {
+                extendRecommenderConfigurations(p, bomConfiguration);
+            }
+        });
+    }
+
+    private void scheduleEagerResolution(Project project) {
+        if (shouldUseBuildService(project) && BomResolutionUtil.shouldEagerlyResolveBoms(project, recommendationProviderContainer)) {
+            if (recommendationProviderContainer.getBatchBomResolution().getOrElse(false)) {
+                BomResolutionUtil.eagerlyResolveBomsWhenProjectsEvaluated(project, recommendationProviderContainer, NEBULA_RECOMMENDER_BOM);
+            } else {
+                BomResolutionUtil.eagerlyResolveBoms(project, recommendationProviderContainer, NEBULA_RECOMMENDER_BOM);
+            }
+        }
+    }
+
     private void applyRecommendations(final Project project) {
         // Add eager BOM resolution for regular (non-core) BOM support
         project.afterEvaluate(new Action<Project>() {
             @Override
             public void execute(Project p) {
-                if (shouldUseBuildService(p) && BomResolutionUtil.shouldEagerlyResolveBoms(p, recommendationProviderContainer)) {
-                    // Eagerly resolve and cache all BOMs after project evaluation
-                    BomResolutionUtil.eagerlyResolveBoms(p, recommendationProviderContainer, NEBULA_RECOMMENDER_BOM);
-                }
+                // Eagerly resolve and cache all BOMs after project evaluation
+                scheduleEagerResolution(p);
             }
         });
         
+        // with the configuration cache, the recommendations are frozen as the resolution callbacks holding this provider
+        // are stored, so that a build reusing the cache entry does not load any recommendation source again. The build
+        // storing the entry looks them up as it goes, like any other build.
+        final Provider<RecommendationSnapshot> snapshot = buildFeatures.getConfigurationCache().getRequested().getOrElse(false)
+                ? project.provider(new RecommendationSnapshotSource(project))
+                : null;
+        final ConfiguredInThisBuild configured = new ConfiguredInThisBuild();
+
         project.getConfigurations().all(new Action<Configuration>() {
             @Override
             public void execute(final Configuration conf) {
@@ -130,34 +246,53 @@ public class DependencyRecommendationsPlugin implements Plugin<Project> {
                                 applyRecommendationToDependency(rsFactory, dependency, new ArrayList<ProjectDependency>(), project);
                             }
 
+                            final RecommendationStatistics statistics = recommendationProviderContainer.getStatistics();
                             conf.getResolutionStrategy().eachDependency(new Action<DependencyResolveDetails>() {
                                 @Override
                                 public void execute(DependencyResolveDetails details) {
-                                    ModuleVersionSelector requested = details.getTarget();
+                                    long start = System.nanoTime();
+                                    try {
+                                        RecommendationDecisionEvent decision = new RecommendationDecisionEvent();
+                                        decision.begin();
+                                        ModuleVersionSelector requested = details.getTarget();
 
-                                    // don't interfere with the way forces trump everything
-                                    for (ModuleVersionSelector force : conf.getResolutionStrategy().getForcedModules()) {
-                                        if (requested.getGroup().equals(force.getGroup()) && requested.getName().equals(force.getName())) {
-                                            details.because("Would have recommended a version for " + requested.getGroup() + ":" + requested.getName() + ", but a force is in place");
-                                            return;
+                                        // don't interfere with the way forces trump everything
+                                        for (ModuleVersionSelector force : conf.getResolutionStrategy().getForcedModules()) {
+                                            if (requested.getGroup().equals(force.getGroup()) && requested.getName().equals(force.getName())) {
+                                                details.because("Would have recommended a version for " + requested.getGroup() + ":" + requested.getName() + ", but a force is in place");
+                                                decision.commit(project.getPath(), conf.getName(), requested, null, RecommendationDecisionEvent.FORCED);
+                                                statistics.forcedModuleSkipped();
+                                                return;
+                                            }
                                         }
-                                    }
-                                    RecommendationStrategy strategy = rsFactory.getRecommendationStrategy();
-                                    if (strategy.canRecommendVersion(requested)) {
-                                        String version = getRecommendedVersionRecursive(project, requested);
-                                        if (strategy.recommendVersion(details, version)) {
-                                            String coordinate = requested.getGroup() + ":" + requested.getName();
-                                            String strategyText = whichStrategy(strategy);
-                                            logger.info("Recommending version " + version + " for dependency " + coordinate);
-                                            details.because("Recommending version " + version + " for dependency " + coordinate + " via " + strategyText + "\n" +
-                                                    "\twith reasons: " + StringUtils.join(getReasonsRecursive(project), ", "));
-                                        } else {
-                                            if (recommendationProviderContainer.getStrictMode().get()) {
-                                                String errorMessage = "Dependency " + details.getRequested().getGroup() + ":" + details.getRequested().getName() + " omitted version with no recommended version. General causes include a dependency being removed from the recommendation source or not applying a recommendation source to a project that depends on another project using a recommender.";
-                                                project.getLogger().error(errorMessage);
-                                                throw new GradleException(errorMessage);
+                                        RecommendationStrategy strategy = rsFactory.getRecommendationStrategy();
+                                        if (strategy.canRecommendVersion(requested)) {
+                                            RecommendationSnapshot frozen = snapshot != null && !configured.value ? snapshot.getOrNull() : null;
+                                            String version = frozen != null
+                                                    ? frozen.getVersion(requested.getGroup(), requested.getName())
+                                                    : projectRecommendations != null
+                                                    ? getRecommendedVersionInIsolation(project, requested)
+                                                    : getRecommendedVersionRecursive(project, requested);
+                                            if (strategy.recommendVersion(details, version)) {
+                                                String coordinate = requested.getGroup() + ":" + requested.getName();
+                                                String strategyText = whichStrategy(strategy);
+                                                logger.info("Recommending version " + version + " for dependency " + coordinate);
+                                                details.because("Recommending version " + version + " for dependency " + coordinate + " via " + strategyText + "\n" +
+                                                        "\twith reasons: " + StringUtils.join(frozen != null ? frozen.getReasons() : reasonsOf(project), ", "));
+                                                decision.commit(project.getPath(), conf.getName(), requested, version, RecommendationDecisionEvent.RECOMMENDED);
+                                            } else {
+                                                decision.commit(project.getPath(), conf.getName(), requested, version, RecommendationDecisionEvent.NOT_APPLIED);
+                                                if (recommendationProviderContainer.getStrictMode().get()) {
+                                                    String errorMessage = "Dependency " + details.getRequested().getGroup() + ":" + details.getRequested().getName() + " omitted version with no recommended version. General causes include a dependency being removed from the recommendation source or not applying a recommendation source to a project that depends on another project using a recommender.";
+                                                    project.getLogger().error(errorMessage);
+                                                    throw new GradleException(errorMessage);
+                                                }
                                             }
+                                        } else {
+                                            decision.commit(project.getPath(), conf.getName(), requested, null, RecommendationDecisionEvent.NOT_RECOMMENDABLE);
                                         }
+                                    } finally {
+                                        statistics.dependencyCallback(System.nanoTime() - start);
                                     }
                                 }
                             });
@@ -170,17 +305,7 @@ public class DependencyRecommendationsPlugin implements Plugin<Project> {
     }
 
     private boolean isExcludedConfiguration(String confName) {
-        if (recommendationProviderContainer.getExcludedConfigurations().get().contains(confName)) {
-            return true;
-        }
-
-        for (String prefix : recommendationProviderContainer.getExcludedConfigurationPrefixes().get()) {
-            if (confName.startsWith(prefix)) {
-                return true;
-            }
-        }
-
-        return false;
+        return recommendationProviderContainer.getConfigurationExclusions().isExcluded(confName);
     }
 
     private void applyRecommendationToDependency(final RecommendationStrategyFactory factory, Dependency dependency, List<ProjectDependency> visited, Project rootProject) {
@@ -191,6 +316,10 @@ public class DependencyRecommendationsPlugin implements Plugin<Project> {
             if (!visited.contains(projectDependency)) {
                 visited.add(projectDependency);
                 String targetConfiguration = projectDependency.getTargetConfiguration() == null ? Dependency.DEFAULT_CONFIGURATION : projectDependency.getTargetConfiguration();
+                if (projectRecommendations != null) {
+                    applyRecommendationToPublishedProject(factory, projectDependency.getPath(), targetConfiguration, new HashSet<String>());
+                    return;
+                }
                 Project dependencyProject = rootProject.findProject(projectDependency.getPath());
                 if (dependencyProject != null) {
                     Configuration configuration = dependencyProject.getConfigurations().getByName(targetConfiguration);
@@ -203,6 +332,23 @@ public class DependencyRecommendationsPlugin implements Plugin<Project> {
         }
     }
 
+    /**
+     * Like {@link #applyRecommendationToDependency} for a project dependency, but reading the dependencies that the
+     * project has published to the {@link ProjectRecommendationService}.
+     */
+    private void applyRecommendationToPublishedProject(RecommendationStrategyFactory factory, String path, String configurationName, Set<String> visited) {
+        if (!visited.add(path + ":" + configurationName)) {
+            return;
+        }
+        ProjectRecommendationService service = projectRecommendations.get();
+        for (ModuleVersionIdentifier module : service.getModules(path, configurationName)) {
+            factory.getRecommendationStrategy().inspectDependency(new DefaultExternalModuleDependency(module.getGroup(), module.getName(), module.getVersion()));
+        }
+        for (Map.Entry<String, String> dependency : service.getProjectDependencies(path, configurationName)) {
+            applyRecommendationToPublishedProject(factory, dependency.getKey(), dependency.getValue(), visited);
+        }
+    }
+
     protected String whichStrategy(RecommendationStrategy strategy) {
         if (strategy instanceof RecommendationsConflictResolvedStrategy) {
             return "conflict resolution recommendation";
@@ -217,12 +363,54 @@ public class DependencyRecommendationsPlugin implements Plugin<Project> {
         RecommendationResolver resolver = new RecommendationResolver(project);
         project.getExtensions().getByType(ExtraPropertiesExtension.class).set("recommend",
                 new MethodClosure(resolver, "recommend"));
+        project.getExtensions().getByType(ExtraPropertiesExtension.class).set("recommendAll",
+                new MethodClosure(resolver, "recommendAll"));
     }
 
     protected void enhancePublicationsWithBomProducer(Project project) {
         project.getExtensions().create("nebulaDependencyManagement", MavenBomXmlGenerator.class, project);
     }
 
+    protected void registerStatsTask(final Project project) {
+        final Provider<BomResolverService> bomResolverService = project.getGradle().getSharedServices()
+                .registerIfAbsent("bomResolver", BomResolverService.class, spec -> {});
+        project.getTasks().register("recommendationStats", RecommendationStatsTask.class, new Action<RecommendationStatsTask>() {
+            @Override
+            public void execute(RecommendationStatsTask task) {
+                task.setGroup("help");
+                task.setDescription("Reports the recommendation work done for this project so far in the build.");
+                task.getBomResolverService().set(bomResolverService);
+                task.usesService(bomResolverService);
+                task.getProjectPath().set(project.getPath());
+                task.getReportFile().set(project.getLayout().getBuildDirectory().file("reports/recommendation-stats.json"));
+            }
+        });
+    }
+
+    protected void registerCompileIndexTask(final Project project) {
+        project.getTasks().register("compileRecommendationIndex", CompileRecommendationIndexTask.class, new Action<CompileRecommendationIndexTask>() {
+            @Override
+            public void execute(CompileRecommendationIndexTask task) {
+                task.setGroup("build");
+                task.setDescription("Compiles the recommendations of this project into a recommendation index.");
+                task.getRecommendations().set(project.provider(new Callable<Map<String, String>>() {
+                    @Override
+                    public Map<String, String> call() {
+                        Map<String, String> versions = recommendationProviderContainer.getAllRecommendedVersions();
+                        if (versions == null) {
+                            throw new GradleException("The recommendations of " + project + " cannot be compiled into an index, " +
+                                    "because one of its providers cannot list its versions, e.g. because it matches coordinates by wildcard " +
+                                    "or failed to load them, in which case the exception is logged as a warning");
+                        }
+                        return versions;
+                    }
+                }));
+                task.getIndexFile().set(project.getLayout().getBuildDirectory()
+                        .file("recommendations/" + project.getName() + "." + RecommendationIndex.EXTENSION));
+            }
+        });
+    }
+
     /**
      * Look for recommended versions in a project and each of its ancestors in order until one is found or the root is reached
      *
@@ -256,6 +444,102 @@ public class DependencyRecommendationsPlugin implements Plugin<Project> {
         return Collections.emptySet();
     }
 
+    /**
+     * Like {@link #getRecommendedVersionRecursive}, but reading the ancestors of the project from the
+     * {@link ProjectRecommendationService}, where they published their recommendations.
+     */
+    private String getRecommendedVersionInIsolation(Project project, ModuleVersionSelector mvSelector) {
+        String version = recommendationProviderContainer.getRecommendedVersion(mvSelector.getGroup(), mvSelector.getName());
+        if (version != null) {
+            return version;
+        }
+        String parentPath = ProjectRecommendationService.parentPath(project.getPath());
+        return parentPath != null ? projectRecommendations.get().getRecommendedVersion(parentPath, mvSelector.getGroup(), mvSelector.getName()) : null;
+    }
+
+    private Set<String> reasonsOf(Project project) {
+        if (projectRecommendations == null) {
+            return getReasonsRecursive(project);
+        }
+        Set<String> reasons = recommendationProviderContainer.getReasons();
+        if (!reasons.isEmpty()) {
+            return reasons;
+        }
+        String parentPath = ProjectRecommendationService.parentPath(project.getPath());
+        return parentPath != null ? projectRecommendations.get().getReasons(parentPath) : Collections.<String>emptySet();
+    }
+
+    /**
+     * Freezes the recommendations of a project and its ancestors, which {@link #getRecommendedVersionRecursive} would
+     * otherwise look up one at a time. A snapshot is taken each time it is asked for, which for the configuration cache
+     * is when the entry is stored.
+     */
+    private class RecommendationSnapshotSource implements Callable<RecommendationSnapshot> {
+        private final Project project;
+
+        RecommendationSnapshotSource(Project project) {
+            this.project = project;
+        }
+
+        @Override
+        public RecommendationSnapshot call() {
+            if (projectRecommendations != null) {
+                return callInIsolation();
+            }
+            // the root first, so that the recommendations of a project win over those of its ancestors
+            List<RecommendationProviderContainer> lineage = new ArrayList<>();
+            for (Project p = project; p != null; p = p.getParent()) {
+                RecommendationProviderContainer container = p.getExtensions().findByType(RecommendationProviderContainer.class);
+                if (container != null) {
+                    lineage.add(0, container);
+                }
+            }
+            Map<String, String> versions = new HashMap<>();
+            for (RecommendationProviderContainer container : lineage) {
+                Map<String, String> own = container.getAllRecommendedVersions();
+                if (own == null) {
+                    logger.info("Recommendations of " + project + " or one of its ancestors cannot be enumerated, so they are looked up as dependencies are resolved");
+                    return null;
+                }
+                versions.putAll(own);
+            }
+            return RecommendationSnapshot.of(versions, reasonsOf(project));
+        }
+
+        private RecommendationSnapshot callInIsolation() {
+            Map<String, String> own = recommendationProviderContainer.getAllRecommendedVersions();
+            String parentPath = ProjectRecommendationService.parentPath(project.getPath());
+            RecommendationSnapshot inherited = parentPath != null ? projectRecommendations.get().getSnapshot(parentPath) : null;
+            if (own == null || parentPath != null && inherited == null) {
+                logger.info("Recommendations of " + project + " or one of its ancestors cannot be enumerated, so they are looked up as dependencies are resolved");
+                return null;
+            }
+            Map<String, String> versions = new HashMap<>();
+            if (inherited != null) {
+                versions.putAll(inherited.getVersions());
+            }
+            versions.putAll(own);
+            return RecommendationSnapshot.of(versions, reasonsOf(project));
+        }
+    }
+
+    /**
+     * Tells the build that registered the resolution callbacks apart from a build loading them from the configuration
+     * cache. The field is not stored in the cache entry, so it reads {@code false} once loaded from it.
+     */
+    private static final class ConfiguredInThisBuild {
+        private transient boolean value = true;
+    }
+
+    /**
+     * Determines whether the plugin runs in isolated projects mode, in which it does not access other projects. It is
+     * enabled by the {@value #ISOLATED_PROJECTS_PROPERTY} Gradle property, or when Gradle itself isolates projects.
+     */
+    private boolean isIsolatedProjects(Project project) {
+        return Boolean.parseBoolean(project.getProviders().gradleProperty(ISOLATED_PROJECTS_PROPERTY).getOrElse("false"))
+                || buildFeatures.getIsolatedProjects().getActive().getOrElse(false);
+    }
+
     /**
      * Determines whether to use the BomResolverService (build service) approach.
      * 
@@ -269,6 +553,13 @@ public class DependencyRecommendationsPlugin implements Plugin<Project> {
      * @return true if build service should be used, false otherwise
      */
     private boolean shouldUseBuildService(Project project) {
+        if (projectRecommendations != null) {
+            // project properties are inherited from the parent project, which isolated projects do not allow reading
+            if (Boolean.parseBoolean(project.getProviders().gradleProperty("nebula.dependency-recommender.useBuildService").getOrElse("false"))) {
+                return true;
+            }
+            return GradleVersion.current().compareTo(GRADLE_9_0) >= 0;
+        }
         // Check if explicitly enabled via gradle property
         if (project.hasProperty("nebula.dependency-recommender.useBuildService")) {
             Object property = project.property("nebula.dependency-recommender.useBuildService");
@@ -1,8 +1,8 @@
 package netflix.nebula.dependency.recommender;
 
 import netflix.nebula.dependency.recommender.provider.RecommendationProviderContainer;
+import netflix.nebula.dependency.recommender.util.ConfigurationNameMatcher;
 import org.gradle.api.Action;
-import org.gradle.api.DomainObjectSet;
 import org.gradle.api.Project;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.Dependency;
@@ -14,7 +14,6 @@ import org.gradle.api.internal.artifacts.dependencies.DependencyConstraintIntern
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 
-import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class ExtendRecommenderConfigurationAction implements Action<Configuration> {
@@ -25,12 +24,17 @@ public class ExtendRecommenderConfigurationAction implements Action<Configuratio
     private final Project project;
     private final RecommendationProviderContainer container;
     private final AtomicInteger copyCount;
+    private final Configuration toExtend;
 
     public ExtendRecommenderConfigurationAction(Configuration bom, Project project, RecommendationProviderContainer container, AtomicInteger copyCount) {
         this.bom = bom;
         this.project = project;
         this.container = container;
         this.copyCount = copyCount;
+        // configurations cannot be added from a configureEach action, so the copy is made when the action is created
+        this.toExtend = project.getConfigurations().findByName(bom.getName()) == bom
+                ? bom
+                : getOrCreateCopy();
     }
 
 
@@ -40,16 +44,12 @@ public class ExtendRecommenderConfigurationAction implements Action<Configuratio
 
     @Override
     public void execute(Configuration configuration) {
-        if (!isClasspathConfiguration(configuration) || container.getExcludedConfigurations().get().contains(configuration.getName()) || isCopyOfBomConfiguration(configuration)) {
+        String name = configuration.getName();
+        if (!ConfigurationNameMatcher.isClasspathConfiguration(name) || container.getConfigurationExclusions().isExcluded(name) || isCopyOfBomConfiguration(configuration)) {
             return;
         }
 
         if (configuration.getState() == Configuration.State.UNRESOLVED) {
-            Configuration toExtend = bom;
-            if (!project.getRootProject().equals(project)) {
-                toExtend = createCopy(bom.getDependencies(), bom.getDependencyConstraints());
-                // No need to add to configurations - createCopy already handles this
-            }
             configuration.extendsFrom(toExtend);
         } else {
             logger.info("Configuration '" + configuration.getName() + "' has already been resolved and cannot be included for recommendation");
@@ -71,46 +71,67 @@ public class ExtendRecommenderConfigurationAction implements Action<Configuratio
      * This means the copy created is <strong>NOT</strong> a strictly identical copy of the original, as the role
      * will be not only a different instance, but also may return different deprecation values.
      */
-    private DefaultConfiguration createCopy(Set<Dependency> dependencies, Set<DependencyConstraint> dependencyConstraints) {
-        DefaultConfiguration copiedConfiguration = (DefaultConfiguration) project.getConfigurations().findByName(getNameWithCopySuffix());
-        if (copiedConfiguration == null) {
-            copiedConfiguration = (DefaultConfiguration) project.getConfigurations().create(getNameWithCopySuffix());
-            copiedConfiguration.setVisible(false);
-            copiedConfiguration.setCanBeResolved(false);
-            copiedConfiguration.setCanBeConsumed(bom.isCanBeConsumed());
-            copiedConfiguration.setTransitive(bom.isTransitive());
-            copiedConfiguration.setDescription(bom.getDescription());
-        }
+    private DefaultConfiguration createCopy(String name) {
+        DefaultConfiguration copiedConfiguration = (DefaultConfiguration) project.getConfigurations().create(name);
+        copiedConfiguration.setVisible(false);
+        copiedConfiguration.setCanBeResolved(false);
+        copiedConfiguration.setCanBeConsumed(bom.isCanBeConsumed());
+        copiedConfiguration.setTransitive(bom.isTransitive());
+        copiedConfiguration.setDescription(bom.getDescription());
         copiedConfiguration.getArtifacts().addAll(bom.getAllArtifacts());
         for (ExcludeRule excludeRule : bom.getExcludeRules()) {
             copiedConfiguration.getExcludeRules().add(new DefaultExcludeRule(excludeRule.getGroup(), excludeRule.getModule()));
         }
-        DomainObjectSet<Dependency> copiedDependencies = copiedConfiguration.getDependencies();
-        for (Dependency dependency : dependencies) {
-            copiedDependencies.add(dependency.copy());
-        }
-        DomainObjectSet<DependencyConstraint> copiedDependencyConstraints = copiedConfiguration.getDependencyConstraints();
-        for (DependencyConstraint dependencyConstraint : dependencyConstraints) {
-            copiedDependencyConstraints.add(((DependencyConstraintInternal) dependencyConstraint).copy());
-        }
+        // the copy is only filled when it is first resolved, from what the bom configuration declares by then, so
+        // that nothing is registered on the bom configuration, which may belong to another project
+        copiedConfiguration.withDependencies(dependencies -> {
+            for (Dependency dependency : bom.getDependencies()) {
+                dependencies.add(dependency.copy());
+            }
+            for (DependencyConstraint dependencyConstraint : bom.getDependencyConstraints()) {
+                copiedConfiguration.getDependencyConstraints().add(((DependencyConstraintInternal) dependencyConstraint).copy());
+            }
+        });
         return copiedConfiguration;
     }
 
+    /**
+     * Every classpath configuration of the project extends the same copy, which is shared with any other action for
+     * the same bom configuration and project.
+     */
+    private Configuration getOrCreateCopy() {
+        String name = getNameWithCopySuffix();
+        Configuration copiedConfiguration = project.getConfigurations().findByName(name);
+        return copiedConfiguration != null ? copiedConfiguration : createCopy(name);
+    }
+
     private String getNameWithCopySuffix() {
-        int count = this.copyCount.incrementAndGet();
         // Include project path to ensure uniqueness across composite builds and subprojects
         // Replace colons with underscores to avoid configuration naming issues
+        String copyName = bom.getName() + "Copy_" + pathSuffix(project);
+        Project source = findSourceProject();
+        if (source == null) {
+            // a bom configuration of unknown origin is copied on its own
+            return copyName + "_" + this.copyCount.incrementAndGet();
+        }
+        return source.equals(project.getRootProject()) ? copyName : copyName + "_from" + pathSuffix(source);
+    }
+
+    private Project findSourceProject() {
+        for (Project p = project.getParent(); p != null; p = p.getParent()) {
+            if (p.getConfigurations().findByName(bom.getName()) == bom) {
+                return p;
+            }
+        }
+        return null;
+    }
+
+    private static String pathSuffix(Project project) {
         String projectPathSuffix = project.getPath().replace(":", "_");
         if (projectPathSuffix.isEmpty() || projectPathSuffix.equals("_")) {
             projectPathSuffix = "root";
         }
-        String copyName = bom.getName() + "Copy_" + projectPathSuffix;
-        return count == 1 ? copyName : copyName + "_" + count;
-    }
-
-    //we want to apply recommendation only into final resolvable configurations like `compileClasspath` or `runtimeClasspath` across all source sets.
-    private boolean isClasspathConfiguration(Configuration configuration) {
-        return configuration.getName().endsWith("Classpath") || configuration.getName().toLowerCase().endsWith("annotationprocessor");
+        return projectPathSuffix;
     }
 
     //this action creates clones of bom configuration from root and gradle will also apply the action to them which would
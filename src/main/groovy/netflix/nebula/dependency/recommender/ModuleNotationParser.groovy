@@ -8,22 +8,59 @@ import javax.annotation.Nullable
 
 class ModuleNotationParser {
     static ModuleVersionIdentifier parse(String dependencyNotation) {
-        String[] moduleNotationParts = dependencyNotation.split(":");
-        if (moduleNotationParts.length < 2 || moduleNotationParts.length > 4) {
+        // trailing empty parts do not count, as with String.split
+        int end = dependencyNotation.length()
+        while (end > 0 && dependencyNotation.charAt(end - 1) == (char) ':') {
+            end--
+        }
+
+        int separators = 0
+        int groupEnd = -1
+        int nameEnd = -1
+        int versionEnd = -1
+        for (int i = 0; i < end; i++) {
+            if (dependencyNotation.charAt(i) == (char) ':') {
+                separators++
+                if (separators == 1) {
+                    groupEnd = i
+                } else if (separators == 2) {
+                    nameEnd = i
+                } else if (separators == 3) {
+                    versionEnd = i
+                }
+            }
+        }
+        if (separators < 1 || separators > 3) {
             throw new IllegalDependencyNotation("Supplied String module notation '" + dependencyNotation +
                     "' is invalid. Example notations: 'org.gradle:gradle-core:2.2', 'org.mockito:mockito-core:1.9.5:javadoc'.");
         }
 
-        def (group, name) = [ elvis(moduleNotationParts[0], null), moduleNotationParts[1] ]
+        String group = groupEnd == 0 ? null : dependencyNotation.substring(0, groupEnd)
+        String name = dependencyNotation.substring(groupEnd + 1, nameEnd == -1 ? end : nameEnd)
+        String version = nameEnd == -1 ? null : dependencyNotation.substring(nameEnd + 1, versionEnd == -1 ? end : versionEnd)
+        return new ParsedModuleVersionIdentifier(new ParsedModuleIdentifier(group, name), version)
+    }
 
-        return [
-                getGroup: { group },
-                getName: { name },
-                getVersion: { moduleNotationParts.length == 2 ? null : moduleNotationParts[2] },
-                getModule: [ getGroup: group, getName: name ] as ModuleIdentifier
-        ] as ModuleVersionIdentifier
+    /**
+     * Parses many notations at once, in order.
+     */
+    static List<ModuleVersionIdentifier> parseAll(Iterable<String> dependencyNotations) {
+        List<ModuleVersionIdentifier> parsed = dependencyNotations instanceof Collection ?
+                new ArrayList<ModuleVersionIdentifier>(((Collection) dependencyNotations).size()) :
+                new ArrayList<ModuleVersionIdentifier>()
+        for (String dependencyNotation : dependencyNotations) {
+            parsed.add(parse(dependencyNotation))
+        }
+        return parsed
     }
 
+    /**
+     * Like {@link org.gradle.api.internal.artifacts.DefaultModuleVersionIdentifier#newId(String, String, String)},
+     * but allows any part of the coordinates to be missing, as they may be in a parsed notation.
+     */
+    static ModuleVersionIdentifier newId(@Nullable String group, @Nullable String name, @Nullable String version) {
+        return new ParsedModuleVersionIdentifier(new ParsedModuleIdentifier(group, name), version)
+    }
 
     static <T> T elvis(@Nullable T object, @Nullable T defaultValue) {
         return isTrue(object) ? object : defaultValue;
@@ -40,4 +77,70 @@ class ModuleNotationParser {
             return true;
         }
     }
+
+    private static final class ParsedModuleIdentifier implements ModuleIdentifier {
+        private final String group
+        private final String name
+
+        ParsedModuleIdentifier(@Nullable String group, @Nullable String name) {
+            this.group = group
+            this.name = name
+        }
+
+        @Override
+        String getGroup() { group }
+
+        @Override
+        String getName() { name }
+
+        @Override
+        boolean equals(Object o) {
+            if (this.is(o)) return true
+            if (!(o instanceof ParsedModuleIdentifier)) return false
+            ParsedModuleIdentifier other = (ParsedModuleIdentifier) o
+            return Objects.equals(group, other.group) && name == other.name
+        }
+
+        @Override
+        int hashCode() { Objects.hash(group, name) }
+
+        @Override
+        String toString() { group + ':' + name }
+    }
+
+    private static final class ParsedModuleVersionIdentifier implements ModuleVersionIdentifier {
+        private final ParsedModuleIdentifier module
+        private final String version
+
+        ParsedModuleVersionIdentifier(ParsedModuleIdentifier module, @Nullable String version) {
+            this.module = module
+            this.version = version
+        }
+
+        @Override
+        String getGroup() { module.group }
+
+        @Override
+        String getName() { module.name }
+
+        @Override
+        String getVersion() { version }
+
+        @Override
+        ModuleIdentifier getModule() { module }
+
+        @Override
+        boolean equals(Object o) {
+            if (this.is(o)) return true
+            if (!(o instanceof ParsedModuleVersionIdentifier)) return false
+            ParsedModuleVersionIdentifier other = (ParsedModuleVersionIdentifier) o
+            return module == other.module && version == other.version
+        }
+
+        @Override
+        int hashCode() { Objects.hash(module, version) }
+
+        @Override
+        String toString() { module.toString() + ':' + version }
+    }
 }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.index;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+
+/**
+ * Compiles recommended versions, by default those of every source configured for the project, into a
+ * {@link RecommendationIndex} that can be published next to a BOM or read with the <code>index</code> provider.
+ *
+ * @since 13.2.0
+ */
+@CacheableTask
+public abstract class CompileRecommendationIndexTask extends DefaultTask {
+    @Input
+    public abstract MapProperty<String, String> getRecommendations();
+
+    @OutputFile
+    public abstract RegularFileProperty getIndexFile();
+
+    @TaskAction
+    public void compile() throws IOException {
+        Map<String, String> recommendations = getRecommendations().get();
+        File file = getIndexFile().get().getAsFile();
+        Files.createDirectories(file.getParentFile().toPath());
+        RecommendationIndex.write(recommendations, file);
+        getLogger().info("Compiled " + recommendations.size() + " recommendations into " + file);
+    }
+}
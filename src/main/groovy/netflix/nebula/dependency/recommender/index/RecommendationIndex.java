@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.index;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compiled table of recommended versions, which is looked up where it lies rather than parsed. Lookups binary search
+ * the entries of a memory-mapped file and only decode the version they find.
+ *
+ * <p>The format is big-endian:</p>
+ * <pre>
+ * int     magic, "NRIX"
+ * int     format version
+ * int     number of entries
+ * int     offset of the string table
+ * entries, sorted by group then name, compared as unsigned UTF-8 bytes:
+ *   int   offset of the group in the string table
+ *   int   offset of the name in the string table
+ *   int   offset of the version in the string table
+ * string table, each distinct string once:
+ *   short length in bytes, unsigned
+ *   UTF-8 bytes
+ * </pre>
+ *
+ * @since 13.2.0
+ */
+public final class RecommendationIndex {
+    public static final String EXTENSION = "nrix";
+
+    static final int MAGIC = 0x4E524958;
+    static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int ENTRY_SIZE = 12;
+    private static final int MAX_STRING_LENGTH = 0xFFFF;
+
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int strings;
+
+    private RecommendationIndex(ByteBuffer buffer, String source) throws IOException {
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException(source + " is not a recommendation index");
+        }
+        int formatVersion = buffer.getInt(4);
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException(source + " is a recommendation index of format " + formatVersion +
+                    ", but only format " + FORMAT_VERSION + " is supported");
+        }
+        this.buffer = buffer;
+        this.size = buffer.getInt(8);
+        this.strings = buffer.getInt(12);
+        if (size < 0 || strings != HEADER_SIZE + (long) size * ENTRY_SIZE || strings > buffer.capacity()) {
+            throw new IOException(source + " is a truncated recommendation index");
+        }
+    }
+
+    /**
+     * Maps an index file into memory. The mapping is released when the index is garbage collected, not when this
+     * method returns.
+     */
+    public static RecommendationIndex open(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return new RecommendationIndex(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), file.getPath());
+        }
+    }
+
+    /**
+     * Writes recommended versions keyed by <code>group:name</code> as an index file.
+     */
+    public static void write(Map<String, String> versions, File file) throws IOException {
+        List<byte[][]> entries = new ArrayList<>(versions.size());
+        for (Map.Entry<String, String> version : versions.entrySet()) {
+            int separator = version.getKey().indexOf(':');
+            if (separator < 0 || version.getValue() == null) {
+                throw new IllegalArgumentException("Cannot index '" + version.getKey() + "' = '" + version.getValue() +
+                        "', recommendations must map group:name to a version");
+            }
+            entries.add(new byte[][]{
+                    utf8(version.getKey().substring(0, separator)),
+                    utf8(version.getKey().substring(separator + 1)),
+                    utf8(version.getValue())
+            });
+        }
+        entries.sort((a, b) -> {
+            int group = Arrays.compareUnsigned(a[0], b[0]);
+            return group != 0 ? group : Arrays.compareUnsigned(a[1], b[1]);
+        });
+
+        Map<String, Integer> offsets = new HashMap<>();
+        ByteArrayOutputStream table = new ByteArrayOutputStream();
+        DataOutputStream tableOut = new DataOutputStream(table);
+        int[] entryOffsets = new int[entries.size() * 3];
+        for (int i = 0; i < entries.size(); i++) {
+            for (int field = 0; field < 3; field++) {
+                byte[] bytes = entries.get(i)[field];
+                String key = new String(bytes, StandardCharsets.UTF_8);
+                Integer offset = offsets.get(key);
+                if (offset == null) {
+                    offset = tableOut.size();
+                    offsets.put(key, offset);
+                    tableOut.writeShort(bytes.length);
+                    tableOut.write(bytes);
+                }
+                entryOffsets[i * 3 + field] = offset;
+            }
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(entries.size());
+            out.writeInt(HEADER_SIZE + entries.size() * ENTRY_SIZE);
+            for (int offset : entryOffsets) {
+                out.writeInt(offset);
+            }
+            table.writeTo(out);
+        }
+    }
+
+    private static byte[] utf8(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_LENGTH) {
+            throw new IllegalArgumentException("Cannot index '" + value.substring(0, 64) + "...', it is longer than " +
+                    MAX_STRING_LENGTH + " bytes");
+        }
+        return bytes;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the recommended version of a module, or <code>null</code> if the index has none
+     */
+    public String getVersion(String group, String name) {
+        byte[] groupBytes = group.getBytes(StandardCharsets.UTF_8);
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int entry = HEADER_SIZE + middle * ENTRY_SIZE;
+            int comparison = compare(buffer.getInt(entry), groupBytes);
+            if (comparison == 0) {
+                comparison = compare(buffer.getInt(entry + 4), nameBytes);
+            }
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return string(buffer.getInt(entry + 8));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return every recommended version, keyed by <code>group:name</code> in index order
+     */
+    public Map<String, String> toMap() {
+        Map<String, String> versions = new LinkedHashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            int entry = HEADER_SIZE + i * ENTRY_SIZE;
+            versions.put(string(buffer.getInt(entry)) + ":" + string(buffer.getInt(entry + 4)), string(buffer.getInt(entry + 8)));
+        }
+        return versions;
+    }
+
+    private int compare(int offset, byte[] key) {
+        int at = strings + offset;
+        int length = buffer.getShort(at) & 0xFFFF;
+        int common = Math.min(length, key.length);
+        for (int i = 0; i < common; i++) {
+            int difference = (buffer.get(at + 2 + i) & 0xFF) - (key[i] & 0xFF);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return length - key.length;
+    }
+
+    private String string(int offset) {
+        int at = strings + offset;
+        byte[] bytes = new byte[buffer.getShort(at) & 0xFFFF];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(at + 2 + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Building the effective model of one BOM file, including the resolution of its parent POMs.
+ *
+ * @since 13.2.0
+ */
+@Name("netflix.nebula.dependency.recommender.BomParse")
+@Label("BOM Parse")
+@Category({"Nebula", "Dependency Recommender"})
+@Description("Builds the effective model of a BOM and reads its dependencyManagement entries")
+@StackTrace(false)
+public final class BomParseEvent extends Event {
+    @Label("File")
+    public String file;
+
+    @Label("Entries")
+    @Description("Number of dependencyManagement entries in the effective model")
+    public int entries;
+
+    @Label("Parent Fetches")
+    @Description("Number of parent POMs resolved through Gradle while building the model")
+    public int parentFetches;
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Resolving a POM referenced from a BOM, usually a parent, through a detached configuration.
+ *
+ * @since 13.2.0
+ */
+@Name("netflix.nebula.dependency.recommender.ParentPomResolution")
+@Label("Parent POM Resolution")
+@Category({"Nebula", "Dependency Recommender"})
+@Description("Resolves a POM referenced by a BOM through a detached configuration")
+@StackTrace(false)
+public final class ParentPomResolutionEvent extends Event {
+    @Label("Coordinates")
+    public String coordinates;
+
+    @Label("Resolved")
+    public boolean resolved;
+}
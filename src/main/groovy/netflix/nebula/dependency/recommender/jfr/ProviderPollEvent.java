@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Asking one recommendation provider for the version of one module.
+ *
+ * @since 13.2.0
+ */
+@Name("netflix.nebula.dependency.recommender.ProviderPoll")
+@Label("Recommendation Provider Poll")
+@Category({"Nebula", "Dependency Recommender"})
+@Description("Asks a recommendation provider for the version of a module")
+@StackTrace(false)
+public final class ProviderPollEvent extends Event {
+    @Label("Provider")
+    public String provider;
+
+    @Label("Module")
+    public String module;
+
+    @Label("Hit")
+    @Description("Whether the provider had a version for the module")
+    public boolean hit;
+}
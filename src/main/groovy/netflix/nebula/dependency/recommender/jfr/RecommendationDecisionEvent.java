@@ -0,0 +1,78 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.gradle.api.artifacts.ModuleVersionSelector;
+
+/**
+ * What the plugin did with one dependency while a configuration was being resolved, and how long deciding took.
+ *
+ * <p>Like every JFR event, this one is cheap to begin and check when it is disabled: the fields are only filled in
+ * once {@link #shouldCommit()} says the event will be recorded.</p>
+ *
+ * @since 13.2.0
+ */
+@Name("netflix.nebula.dependency.recommender.RecommendationDecision")
+@Label("Recommendation Decision")
+@Category({"Nebula", "Dependency Recommender"})
+@Description("Decides whether to recommend a version for a dependency being resolved")
+@StackTrace(false)
+public final class RecommendationDecisionEvent extends Event {
+    /** A recommended version was applied */
+    public static final String RECOMMENDED = "recommended";
+    /** A force is in place for the module, so it was left alone */
+    public static final String FORCED = "forced";
+    /** There was no recommended version, or the strategy kept the requested one */
+    public static final String NOT_APPLIED = "not applied";
+    /** The strategy does not recommend versions for this dependency, e.g. because it has a version of its own */
+    public static final String NOT_RECOMMENDABLE = "not recommendable";
+
+    @Label("Project")
+    public String project;
+
+    @Label("Configuration")
+    public String configuration;
+
+    @Label("Module")
+    public String module;
+
+    @Label("Version")
+    @Description("The recommended version, if there was one")
+    public String version;
+
+    @Label("Outcome")
+    public String outcome;
+
+    /**
+     * Ends the event and records it, if it is enabled and passes its threshold.
+     */
+    public void commit(String project, String configuration, ModuleVersionSelector requested, String version, String outcome) {
+        if (shouldCommit()) {
+            this.project = project;
+            this.configuration = configuration;
+            this.module = requested.getGroup() + ":" + requested.getName();
+            this.version = version;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -7,7 +7,10 @@ public abstract class AbstractRecommendationProvider implements RecommendationPr
 
     @Override
     public String getName() {
-        return name == null ? "recommender-" + (++providersWithoutNames) : name;
+        if (name == null) {
+            name = "recommender-" + (++providersWithoutNames);
+        }
+        return name;
     }
 
     @Override
@@ -1,15 +1,76 @@
 package netflix.nebula.dependency.recommender.provider;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import groovy.lang.Closure;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+
 public class CustomRecommendationProvider extends AbstractRecommendationProvider {
+    public static final int DEFAULT_MEMOIZE_MAX_SIZE = 10000;
+
+    // stands in for null results, which the cache does not accept
+    private static final String NO_RECOMMENDATION = new String("");
+
     private Closure versionFunction;
+    private volatile Cache<String, String> versions;
 
     public CustomRecommendationProvider(Closure versionFunction) {
         this.versionFunction = versionFunction;
     }
 
     @Override
-    public String getVersion(String org, String name) {
-        return (String) versionFunction.call(org, name);
+    public String getVersion(final String org, final String name) throws Exception {
+        Cache<String, String> cache = versions;
+        if (cache == null) {
+            return (String) versionFunction.call(org, name);
+        }
+
+        try {
+            String version = cache.get(org + ":" + name, new Callable<String>() {
+                @Override
+                public String call() {
+                    String version = (String) versionFunction.call(org, name);
+                    return version == null ? NO_RECOMMENDATION : version;
+                }
+            });
+            return version == NO_RECOMMENDATION ? null : version;
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            // surface the closure's own failure rather than the cache's wrapper
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Remembers the result of the version closure for each coordinate, including coordinates it has no
+     * recommendation for, keeping up to {@value #DEFAULT_MEMOIZE_MAX_SIZE} coordinates.
+     * Only use this when the closure returns the same version for a coordinate every time it is called.
+     */
+    public CustomRecommendationProvider memoize() {
+        return memoize(DEFAULT_MEMOIZE_MAX_SIZE);
+    }
+
+    /**
+     * Remembers the result of the version closure for each coordinate, including coordinates it has no
+     * recommendation for, evicting the least recently used coordinates beyond {@code maxSize}.
+     * Only use this when the closure returns the same version for a coordinate every time it is called.
+     */
+    public CustomRecommendationProvider memoize(int maxSize) {
+        versions = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        return this;
+    }
+
+    /**
+     * @return the number of calls to the version closure that were answered from the memoized results,
+     * or {@code 0} if results are not memoized
+     */
+    public long getSavedCalls() {
+        Cache<String, String> cache = versions;
+        return cache == null ? 0 : cache.stats().hitCount();
     }
 }
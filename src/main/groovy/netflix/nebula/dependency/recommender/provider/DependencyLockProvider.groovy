@@ -2,6 +2,7 @@ package netflix.nebula.dependency.recommender.provider
 
 import groovy.json.JsonSlurper
 import org.gradle.api.Project
+import org.gradle.api.artifacts.ModuleIdentifier
 
 class DependencyLockProvider extends FileBasedRecommendationProvider {
     Map<String, String> recommendations
@@ -14,20 +15,47 @@ class DependencyLockProvider extends FileBasedRecommendationProvider {
 
     @Override
     String getVersion(String org, String name) throws Exception {
-        if (!recommendations) {
-            input.withCloseable {
-                final Map<String, Map<String, String>> locks = (Map<String, Map<String, String>>) new JsonSlurper().parse(it)
-                final boolean isDependencyLock4Format = locks.every {
-                    it.value.every {
-                        it.value instanceof Map
-                    }
-                }
-
-                recommendations = (isDependencyLock4Format ? locks.collectEntries { it.value } : locks).collectEntries {
-                    [(it.key): it.value["locked"]]
-                } as Map<String, String>
+        ensureLoaded()
+        recommendations[org + ':' + name]
+    }
+
+    @Override
+    Map<ModuleIdentifier, String> getVersions(Collection<? extends ModuleIdentifier> modules) throws Exception {
+        ensureLoaded()
+        Map<ModuleIdentifier, String> versions = new HashMap<>()
+        for (ModuleIdentifier module : modules) {
+            String version = recommendations.get(module.getGroup() + ':' + module.getName())
+            if (version != null) {
+                versions.put(module, version)
             }
         }
-        recommendations[org + ':' + name]
+        return versions
+    }
+
+    @Override
+    Map<String, String> getAllVersions() throws Exception {
+        ensureLoaded()
+        return recommendations
+    }
+
+    private void ensureLoaded() {
+        if (recommendations == null) {
+            recommendations = loadRecommendations({ InputStream it -> parse(it) } as SourceParser<Map<String, String>>)
+        }
+    }
+
+    private static Map<String, String> parse(InputStream input) {
+        final Map<String, Map<String, String>> locks = (Map<String, Map<String, String>>) new JsonSlurper().parse(input)
+        final boolean isDependencyLock4Format = locks.every {
+            it.value.every {
+                it.value instanceof Map
+            }
+        }
+
+        Map<String, String> recommendations = (isDependencyLock4Format ? locks.collectEntries { it.value } : locks).collectEntries {
+            [(it.key): it.value["locked"]]
+        } as Map<String, String>
+        // the recommendations may be shared with other projects through the RecommendationSourceService
+        return Collections.unmodifiableMap(recommendations)
     }
 }
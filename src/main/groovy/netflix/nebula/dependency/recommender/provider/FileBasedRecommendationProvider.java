@@ -1,10 +1,11 @@
 package netflix.nebula.dependency.recommender.provider;
 
+import netflix.nebula.dependency.recommender.service.ModuleSourceResolverService;
+import netflix.nebula.dependency.recommender.stats.RecommendationStatistics;
+import netflix.nebula.dependency.recommender.service.RecommendationSourceService;
 import org.gradle.api.InvalidUserDataException;
 import org.gradle.api.Project;
-import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.ExternalModuleDependency;
-import org.gradle.api.artifacts.ResolvedArtifact;
 import org.gradle.api.internal.artifacts.dependencies.DefaultExternalModuleDependency;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
@@ -12,12 +13,16 @@ import org.gradle.internal.typeconversion.NotationConvertResult;
 
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URL;
+import java.util.concurrent.Callable;
 
 public abstract class FileBasedRecommendationProvider extends AbstractRecommendationProvider {
     protected Project project;
+    private Object moduleNotation;
+    private SourceIdentity sourceIdentity;
     private Logger logger = Logging.getLogger(FileBasedRecommendationProvider.class);
 
     protected InputStreamProvider inputProvider = new InputStreamProvider() {
@@ -41,7 +46,47 @@ public abstract class FileBasedRecommendationProvider extends AbstractRecommenda
         }
     }
 
+    /**
+     * Parses the recommendation source, sharing the result through the {@link RecommendationSourceService} with
+     * every other provider of the same type reading the same source in this build. Sources set with
+     * {@link #setInputStream(InputStream)} have no identity and are always parsed by this provider.
+     *
+     * @param parser parses the source into a table that is not modified afterwards
+     * @param <T> the type of table
+     * @return the parsed, possibly shared, table
+     */
+    protected <T> T loadRecommendations(final SourceParser<T> parser) throws Exception {
+        if (project == null || sourceIdentity == null) {
+            return parse(parser);
+        }
+        String sourceKey = getClass().getName() + "|" + sourceIdentity.get();
+        return RecommendationSourceService.register(project).get().getOrParse(sourceKey, new Callable<T>() {
+            @Override
+            public T call() throws Exception {
+                return parse(parser);
+            }
+        });
+    }
+
+    private <T> T parse(SourceParser<T> parser) throws Exception {
+        long start = System.nanoTime();
+        try (InputStream input = getInput()) {
+            return parser.parse(input);
+        } finally {
+            RecommendationStatistics statistics = RecommendationProviderContainer.statisticsOf(project);
+            if (statistics != null) {
+                statistics.sourceParsed(System.nanoTime() - start);
+            }
+        }
+    }
+
     public InputStreamProvider setFile(final File f) {
+        sourceIdentity = new SourceIdentity() {
+            @Override
+            public String get() throws Exception {
+                return fileIdentity(f);
+            }
+        };
         inputProvider = new InputStreamProvider() {
             @Override
             public InputStream getInputStream() throws Exception {
@@ -52,6 +97,7 @@ public abstract class FileBasedRecommendationProvider extends AbstractRecommenda
     }
 
     public InputStreamProvider setInputStream(final InputStream in) {
+        sourceIdentity = null;
         inputProvider = new InputStreamProvider() {
             @Override
             public InputStream getInputStream() {
@@ -62,10 +108,11 @@ public abstract class FileBasedRecommendationProvider extends AbstractRecommenda
     }
 
     public InputStreamProvider setUri(final URI uri) {
+        sourceIdentity = urlIdentity(uri.toString());
         inputProvider = new InputStreamProvider() {
             @Override
             public InputStream getInputStream() throws Exception {
-                return uri.toURL().openStream();
+                return openRemote(uri.toURL());
             }
         };
         return inputProvider;
@@ -76,40 +123,91 @@ public abstract class FileBasedRecommendationProvider extends AbstractRecommenda
     }
 
     public InputStreamProvider setUrl(final URL url) {
+        sourceIdentity = urlIdentity(url.toExternalForm());
         inputProvider = new InputStreamProvider() {
             @Override
             public InputStream getInputStream() throws Exception {
-                return url.openStream();
+                return openRemote(url);
             }
         };
         return inputProvider;
     }
 
     public InputStreamProvider setUrl(final String url) {
+        sourceIdentity = urlIdentity(url);
         inputProvider = new InputStreamProvider() {
             @Override
             public InputStream getInputStream() throws Exception {
-                return new URL(url).openStream();
+                return openRemote(new URL(url));
             }
         };
         return inputProvider;
     }
 
+    /**
+     * Opens a remote recommendation source, going through the {@link HttpRecommendationSourceCache} for http(s) sources
+     * when a project is available to locate the Gradle user home
+     */
+    protected InputStream openRemote(URL url) throws Exception {
+        if (project == null || !HttpRecommendationSourceCache.isCacheable(url)) {
+            return url.openStream();
+        }
+        return HttpRecommendationSourceCache.forProject(project).open(url);
+    }
+
     public InputStreamProvider setModule(final Object dependencyNotation) {
+        moduleNotation = dependencyNotation;
+        sourceIdentity = new SourceIdentity() {
+            @Override
+            public String get() throws Exception {
+                return fileIdentity(resolveModule(dependencyNotation));
+            }
+        };
         inputProvider = new InputStreamProvider() {
             @Override
             public InputStream getInputStream() throws Exception {
-                // create a temporary configuration to resolve the file
-                Configuration conf = project.getConfigurations().detachedConfiguration(
-                        project.getDependencies().create(dependencyNotation));
+                return new FileInputStream(resolveModule(dependencyNotation));
+            }
+        };
+        return inputProvider;
+    }
 
-                ResolvedArtifact artifactId = conf.getResolvedConfiguration().getResolvedArtifacts().iterator().next();
-                logger.info("Selected recommendation source " + artifactId.getId() + ", you requested " + dependencyNotation);
+    /**
+     * Resolves the module set through {@link #setModule(Object)}, if any, so that later reads of the source are
+     * served from the {@link ModuleSourceResolverService} instead of resolving a configuration.
+     */
+    void eagerlyResolveModule() {
+        if (moduleNotation != null && project != null) {
+            resolveModule(moduleNotation);
+        }
+    }
+
+    private File resolveModule(Object dependencyNotation) {
+        return ModuleSourceResolverService.register(project).get().resolve(project, dependencyNotation);
+    }
 
-                return new FileInputStream(artifactId.getFile());
+    private String fileIdentity(File file) throws IOException {
+        return RecommendationSourceService.register(project).get().fileIdentity(file);
+    }
+
+    private static SourceIdentity urlIdentity(final String url) {
+        return new SourceIdentity() {
+            @Override
+            public String get() {
+                return "url:" + url;
             }
         };
-        return inputProvider;
+    }
+
+    /**
+     * Parses the content of a recommendation source
+     */
+    public interface SourceParser<T> {
+        T parse(InputStream input) throws Exception;
+    }
+
+    private interface SourceIdentity {
+        String get() throws Exception;
     }
 
     private class ProviderNotationConvertResult implements NotationConvertResult<DefaultExternalModuleDependency> {
@@ -3,11 +3,15 @@ package netflix.nebula.dependency.recommender.provider;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Pattern;
 
 public abstract class FuzzyVersionResolver {
     private volatile List<Glob> globs;
+    private final LongAdder globEvaluations = new LongAdder();
 
     abstract protected Collection<String> propertyNames();
     abstract protected String propertyValue(String name);
@@ -31,15 +35,41 @@ public abstract class FuzzyVersionResolver {
             }
         }
 
+        int evaluated = 0;
         for (Glob glob : globs) {
+            evaluated++;
             if (glob.matches(key)) {
+                globEvaluations.add(evaluated);
                 return resolveVersion(glob.version);
             }
         }
 
+        globEvaluations.add(evaluated);
         return null;
     }
 
+    /**
+     * @return how many globs have been matched against a key so far
+     */
+    public long getGlobEvaluations() {
+        return globEvaluations.sum();
+    }
+
+    /**
+     * @return the resolved version of every property, or <code>null</code> if any property is a glob and the set of
+     * matching keys therefore cannot be enumerated
+     */
+    public Map<String, String> exactVersions() {
+        Map<String, String> versions = new HashMap<>();
+        for (String name : propertyNames()) {
+            if (name.contains("*")) {
+                return null;
+            }
+            versions.put(name, resolveVersion(propertyValue(name)));
+        }
+        return versions;
+    }
+
     private List<Glob> createGlobCache() {
         List<Glob> cache = new ArrayList<>();
         for (String name : propertyNames()) {
@@ -0,0 +1,257 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.provider;
+
+import org.gradle.api.InvalidUserDataException;
+import org.gradle.api.Project;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A disk cache for recommendation sources fetched over http(s) by {@link FileBasedRecommendationProvider#setUrl(URL)}
+ * and {@link FileBasedRecommendationProvider#setUri(java.net.URI)}.
+ *
+ * <p>Each source is stored under the Gradle user home together with its {@code ETag} and {@code Last-Modified}
+ * validators. A cached copy younger than the configured max-age is served without a request, an older copy is
+ * revalidated with a conditional request, and under {@code --offline} any cached copy is served as is.</p>
+ *
+ * <p>Concurrent fetches of the same URL within the daemon are single-flighted, readers arriving during a fetch sharing
+ * its result rather than making a request of their own, and entries are written through a
+ * temporary file and an atomic move so that other processes sharing the user home never see a partial file.</p>
+ *
+ * <p>The max-age is set in seconds with the {@value #MAX_AGE_PROPERTY} gradle property and defaults to {@code 0},
+ * which revalidates the source on every read.</p>
+ */
+public class HttpRecommendationSourceCache {
+    public static final String MAX_AGE_PROPERTY = "nebula.dependency-recommender.remoteSourceMaxAgeSeconds";
+
+    private static final String ETAG = "etag";
+    private static final String LAST_MODIFIED = "lastModified";
+    private static final String FETCHED_AT = "fetchedAt";
+    private static final ConcurrentHashMap<String, CompletableFuture<byte[]>> inFlight = new ConcurrentHashMap<>();
+
+    private final Logger logger = Logging.getLogger(HttpRecommendationSourceCache.class);
+    private final File cacheDir;
+    private final long maxAgeMillis;
+    private final boolean offline;
+
+    public HttpRecommendationSourceCache(File cacheDir, long maxAgeMillis, boolean offline) {
+        this.cacheDir = cacheDir;
+        this.maxAgeMillis = maxAgeMillis;
+        this.offline = offline;
+    }
+
+    public static HttpRecommendationSourceCache forProject(Project project) {
+        File cacheDir = new File(project.getGradle().getGradleUserHomeDir(), "caches/nebula-dependency-recommender/sources");
+        String maxAge = project.getProviders().gradleProperty(MAX_AGE_PROPERTY).getOrElse("0");
+        return new HttpRecommendationSourceCache(cacheDir, parseMaxAgeMillis(maxAge),
+                project.getGradle().getStartParameter().isOffline());
+    }
+
+    static long parseMaxAgeMillis(String maxAge) {
+        long seconds;
+        try {
+            seconds = Long.parseLong(maxAge.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidUserDataException("The gradle property " + MAX_AGE_PROPERTY + " must be a whole number of seconds, but was '" + maxAge + "'", e);
+        }
+        if (seconds < 0) {
+            throw new InvalidUserDataException("The gradle property " + MAX_AGE_PROPERTY + " must not be negative, but was '" + maxAge + "'");
+        }
+        return seconds * 1000;
+    }
+
+    public static boolean isCacheable(URL url) {
+        return "http".equalsIgnoreCase(url.getProtocol()) || "https".equalsIgnoreCase(url.getProtocol());
+    }
+
+    public InputStream open(URL url) throws IOException {
+        if (!isCacheable(url)) {
+            return url.openStream();
+        }
+
+        // readers arriving while a source is fetched wait for that fetch and share its body, which is read before the
+        // fetch completes, so a later refresh never moves a new entry over a file that is still open
+        String key = key(url);
+        CompletableFuture<byte[]> fetching = new CompletableFuture<>();
+        CompletableFuture<byte[]> running = inFlight.putIfAbsent(key, fetching);
+        if (running == null) {
+            try {
+                fetching.complete(Files.readAllBytes(fetch(url, key).toPath()));
+            } catch (IOException | RuntimeException e) {
+                fetching.completeExceptionally(e);
+            } finally {
+                inFlight.remove(key, fetching);
+            }
+            running = fetching;
+        }
+        return new ByteArrayInputStream(join(running));
+    }
+
+    private static byte[] join(CompletableFuture<byte[]> fetching) throws IOException {
+        try {
+            return fetching.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a recommendation source to be fetched");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private File fetch(URL url, String key) throws IOException {
+        File body = new File(cacheDir, key + ".body");
+        File metadataFile = new File(cacheDir, key + ".properties");
+        Properties metadata = body.isFile() ? readMetadata(metadataFile) : null;
+
+        if (metadata != null) {
+            if (offline) {
+                logger.info("Using cached recommendation source for " + url + " in offline mode");
+                return body;
+            }
+            long fetchedAt = Long.parseLong(metadata.getProperty(FETCHED_AT, "0"));
+            if (System.currentTimeMillis() - fetchedAt < maxAgeMillis) {
+                logger.debug("Using cached recommendation source for {} which is within its max-age", url);
+                return body;
+            }
+        } else if (offline) {
+            logger.info("No cached version of recommendation source " + url + " available in offline mode, fetching it");
+        }
+
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        try {
+            if (metadata != null) {
+                if (metadata.getProperty(ETAG) != null) {
+                    connection.setRequestProperty("If-None-Match", metadata.getProperty(ETAG));
+                }
+                if (metadata.getProperty(LAST_MODIFIED) != null) {
+                    connection.setRequestProperty("If-Modified-Since", metadata.getProperty(LAST_MODIFIED));
+                }
+            }
+
+            int status;
+            try {
+                status = connection.getResponseCode();
+            } catch (IOException e) {
+                if (metadata != null) {
+                    logger.warn("Unable to revalidate recommendation source " + url + ", using cached version", e);
+                    return body;
+                }
+                throw e;
+            }
+
+            if (status == HttpURLConnection.HTTP_NOT_MODIFIED && metadata != null) {
+                logger.debug("Recommendation source {} has not been modified", url);
+                metadata.setProperty(FETCHED_AT, Long.toString(System.currentTimeMillis()));
+                writeMetadata(metadataFile, metadata);
+                return body;
+            }
+
+            if (status != HttpURLConnection.HTTP_OK) {
+                if (metadata != null) {
+                    logger.warn("Unexpected status " + status + " revalidating recommendation source " + url + ", using cached version");
+                    return body;
+                }
+                throw new IOException("Unexpected status " + status + " fetching recommendation source " + url);
+            }
+
+            Files.createDirectories(cacheDir.toPath());
+            File temp = File.createTempFile(key, ".tmp", cacheDir);
+            try (InputStream in = connection.getInputStream(); OutputStream out = new FileOutputStream(temp)) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+            }
+            Files.move(temp.toPath(), body.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            Properties updated = new Properties();
+            if (connection.getHeaderField("ETag") != null) {
+                updated.setProperty(ETAG, connection.getHeaderField("ETag"));
+            }
+            if (connection.getHeaderField("Last-Modified") != null) {
+                updated.setProperty(LAST_MODIFIED, connection.getHeaderField("Last-Modified"));
+            }
+            updated.setProperty(FETCHED_AT, Long.toString(System.currentTimeMillis()));
+            writeMetadata(metadataFile, updated);
+            return body;
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private Properties readMetadata(File metadataFile) {
+        if (!metadataFile.isFile()) {
+            return null;
+        }
+        Properties metadata = new Properties();
+        try (InputStream in = new FileInputStream(metadataFile)) {
+            metadata.load(in);
+            return metadata;
+        } catch (IOException e) {
+            logger.debug("Ignoring unreadable cache metadata {}", metadataFile, e);
+            return null;
+        }
+    }
+
+    private void writeMetadata(File metadataFile, Properties metadata) throws IOException {
+        File temp = File.createTempFile(metadataFile.getName(), ".tmp", cacheDir);
+        try (OutputStream out = new FileOutputStream(temp)) {
+            metadata.store(out, null);
+        }
+        Files.move(temp.toPath(), metadataFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String key(URL url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(url.toExternalForm().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
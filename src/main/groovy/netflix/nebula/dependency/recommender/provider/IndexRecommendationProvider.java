@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.provider;
+
+import netflix.nebula.dependency.recommender.index.RecommendationIndex;
+import netflix.nebula.dependency.recommender.service.ModuleSourceResolverService;
+import org.gradle.api.InvalidUserDataException;
+import org.gradle.api.Project;
+
+import java.io.File;
+import java.util.Map;
+
+/**
+ * Recommends the versions of a {@link RecommendationIndex}, given as a file or as a module whose artifact is one.
+ * The index is mapped on first use and looked up in place.
+ *
+ * @since 13.2.0
+ */
+public class IndexRecommendationProvider extends AbstractRecommendationProvider {
+    private final Project project;
+    private File file;
+    private Object moduleNotation;
+    private volatile RecommendationIndex index;
+
+    public IndexRecommendationProvider(Project project) {
+        this.project = project;
+    }
+
+    public void setFile(File file) {
+        this.file = file;
+        this.moduleNotation = null;
+    }
+
+    /**
+     * @param dependencyNotation the module publishing the index, with the index extension added to string notations
+     * that have no extension of their own
+     */
+    public void setModule(Object dependencyNotation) {
+        if (dependencyNotation instanceof CharSequence && !dependencyNotation.toString().contains("@")) {
+            dependencyNotation = dependencyNotation + "@" + RecommendationIndex.EXTENSION;
+        }
+        this.moduleNotation = dependencyNotation;
+        this.file = null;
+    }
+
+    @Override
+    public String getVersion(String org, String name) throws Exception {
+        return getIndex().getVersion(org, name);
+    }
+
+    @Override
+    public Map<String, String> getAllVersions() throws Exception {
+        return getIndex().toMap();
+    }
+
+    /**
+     * Resolves the module set through {@link #setModule(Object)}, if any, so that it is never resolved from within a
+     * dependency resolution callback.
+     */
+    void eagerlyResolveModule() {
+        if (moduleNotation != null) {
+            resolveModule();
+        }
+    }
+
+    private RecommendationIndex getIndex() throws Exception {
+        RecommendationIndex current = index;
+        if (current == null) {
+            synchronized (this) {
+                if (index == null) {
+                    File source = moduleNotation != null ? resolveModule() : file;
+                    if (source == null) {
+                        throw new InvalidUserDataException("No file or module was given for the recommendation index '" + getName() + "'");
+                    }
+                    index = RecommendationIndex.open(source);
+                }
+                current = index;
+            }
+        }
+        return current;
+    }
+
+    private File resolveModule() {
+        return ModuleSourceResolverService.register(project).get().resolve(project, moduleNotation);
+    }
+}
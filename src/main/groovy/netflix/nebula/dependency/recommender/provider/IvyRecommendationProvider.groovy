@@ -1,27 +1,127 @@
 package netflix.nebula.dependency.recommender.provider
 
-import groovy.transform.CompileDynamic
-import groovy.xml.XmlSlurper
 import org.gradle.api.Project
+import org.gradle.api.artifacts.ModuleIdentifier
+
+import javax.xml.stream.XMLInputFactory
+import javax.xml.stream.XMLStreamConstants
+import javax.xml.stream.XMLStreamReader
 
 class IvyRecommendationProvider extends FileBasedRecommendationProvider {
-    Map<String, String> versionsByCoord
+    private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory()
+
+    /**
+     * Revisions indexed by organisation and then by module name, so that lookups never have to build a coordinate string
+     */
+    private volatile Map<String, Map<String, String>> versionsByOrg
 
     IvyRecommendationProvider(Project p) { super(p) }
 
-    @CompileDynamic
     @Override
     String getVersion(String org, String name) throws Exception {
-        if (versionsByCoord == null) {
-            versionsByCoord = [:]
-            getInput().withCloseable {
-                def ivy = new XmlSlurper().parse(it)
-                ivy.dependencies.dependency.each { d ->
-                    versionsByCoord.put("${d.@org.text()}:${d.@name.text()}".toString(), "${d.@rev.text()}")
+        Map<String, String> versionsByName = index().get(org)
+        return versionsByName == null ? null : versionsByName.get(name)
+    }
+
+    @Override
+    Map<ModuleIdentifier, String> getVersions(Collection<? extends ModuleIdentifier> modules) throws Exception {
+        Map<String, Map<String, String>> index = index()
+        Map<ModuleIdentifier, String> versions = new HashMap<>()
+        for (ModuleIdentifier module : modules) {
+            Map<String, String> versionsByName = index.get(module.getGroup())
+            String version = versionsByName == null ? null : versionsByName.get(module.getName())
+            if (version != null) {
+                versions.put(module, version)
+            }
+        }
+        return versions
+    }
+
+    @Override
+    Map<String, String> getAllVersions() throws Exception {
+        Map<String, String> versions = new HashMap<>()
+        for (Map.Entry<String, Map<String, String>> org : index().entrySet()) {
+            for (Map.Entry<String, String> name : org.getValue().entrySet()) {
+                versions.put(org.getKey() + ':' + name.getKey(), name.getValue())
+            }
+        }
+        return versions
+    }
+
+    /**
+     * The recommended versions keyed by <code>org:name</code>, read from the index the ivy descriptor is parsed into.
+     *
+     * @deprecated versions are indexed by organisation; use {@link #getVersion(String, String)} or {@link #getAllVersions()}
+     */
+    @Deprecated
+    Map<String, String> getVersionsByCoord() {
+        return Collections.unmodifiableMap(getAllVersions())
+    }
+
+    private Map<String, Map<String, String>> index() {
+        Map<String, Map<String, String>> index = versionsByOrg
+        if (index == null) {
+            synchronized (this) {
+                index = versionsByOrg
+                if (index == null) {
+                    index = loadRecommendations({ InputStream it -> parse(it) } as SourceParser<Map<String, Map<String, String>>>)
+                    versionsByOrg = index
+                }
+            }
+        }
+        return index
+    }
+
+    /**
+     * Streams the ivy descriptor and indexes the <code>org</code>, <code>name</code> and <code>rev</code> attributes of
+     * each <code>ivy-module/dependencies/dependency</code> element without materializing the document
+     */
+    static Map<String, Map<String, String>> parse(InputStream input) {
+        Map<String, Map<String, String>> index = new HashMap<>()
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(input)
+        try {
+            int depth = 0
+            boolean inDependencies = false
+            while (reader.hasNext()) {
+                int event = reader.next()
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    depth++
+                    String element = reader.getLocalName()
+                    if (depth == 2 && element == 'dependencies') {
+                        inDependencies = true
+                    } else if (depth == 3 && inDependencies && element == 'dependency') {
+                        String org = attribute(reader, 'org')
+                        Map<String, String> versionsByName = index.get(org)
+                        if (versionsByName == null) {
+                            versionsByName = new HashMap<>()
+                            index.put(org, versionsByName)
+                        }
+                        versionsByName.put(attribute(reader, 'name'), attribute(reader, 'rev'))
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT) {
+                    if (depth == 2) {
+                        inDependencies = false
+                    }
+                    depth--
                 }
             }
+        } finally {
+            reader.close()
         }
-        return versionsByCoord["$org:$name".toString()]
+        // the index may be shared with other projects through the RecommendationSourceService
+        return Collections.unmodifiableMap(index)
+    }
+
+    private static String attribute(XMLStreamReader reader, String name) {
+        String value = reader.getAttributeValue(null, name)
+        return value == null ? '' : value
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance()
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false)
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false)
+        return factory
     }
 
     @SuppressWarnings("unchecked")
@@ -1,8 +1,10 @@
 package netflix.nebula.dependency.recommender.provider;
 
 import org.gradle.api.InvalidUserDataException;
+import org.gradle.api.artifacts.ModuleIdentifier;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 
 public class MapRecommendationProvider extends AbstractRecommendationProvider {
@@ -22,12 +24,51 @@ public class MapRecommendationProvider extends AbstractRecommendationProvider {
 
     @Override
     public String getVersion(String org, String name) {
+        ensureRecommendations();
+        return fuzzyResolver.versionOf(org + ":" + name);
+    }
+
+    @Override
+    public Map<ModuleIdentifier, String> getVersions(Collection<? extends ModuleIdentifier> modules) {
+        ensureRecommendations();
+        Map<ModuleIdentifier, String> versions = new HashMap<>();
+        for (ModuleIdentifier module : modules) {
+            String version = fuzzyResolver.versionOf(module.getGroup() + ":" + module.getName());
+            if (version != null) {
+                versions.put(module, version);
+            }
+        }
+        return versions;
+    }
+
+    @Override
+    public Map<String, String> getAllVersions() {
+        ensureRecommendations();
+        Map<String, String> exactVersions = fuzzyResolver.exactVersions();
+        if (exactVersions == null) {
+            return null;
+        }
+        Map<String, String> versions = new HashMap<>();
+        for (Map.Entry<String, String> entry : exactVersions.entrySet()) {
+            // entries without a coordinate separator are only used as version references
+            if (entry.getKey().contains(":")) {
+                versions.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return versions;
+    }
+
+    private void ensureRecommendations() {
         if(recommendations == null)
             throw new InvalidUserDataException("No recommender of dependencies to versions was provided");
-        return fuzzyResolver.versionOf(org + ":" + name);
     }
 
     public void setRecommendations(Map<String, String> recommendations) {
         this.recommendations = recommendations;
     }
+
+    @Override
+    public long getGlobEvaluations() {
+        return fuzzyResolver.getGlobEvaluations();
+    }
 }
@@ -15,7 +15,9 @@
  */
 package netflix.nebula.dependency.recommender.provider;
 
+import netflix.nebula.dependency.recommender.stats.RecommendationStatistics;
 import org.gradle.api.Project;
+import org.gradle.api.artifacts.ModuleIdentifier;
 
 import java.io.File;
 import java.util.*;
@@ -38,6 +40,24 @@ public class MavenBomRecommendationProvider extends ClasspathBasedRecommendation
         return getRecommendations().get(org + ":" + name);
     }
 
+    @Override
+    public Map<ModuleIdentifier, String> getVersions(Collection<? extends ModuleIdentifier> modules) {
+        Map<String, String> recommendations = getRecommendations();
+        Map<ModuleIdentifier, String> versions = new HashMap<>();
+        for (ModuleIdentifier module : modules) {
+            String version = recommendations.get(module.getGroup() + ":" + module.getName());
+            if (version != null) {
+                versions.put(module, version);
+            }
+        }
+        return versions;
+    }
+
+    @Override
+    public Map<String, String> getAllVersions() {
+        return Collections.unmodifiableMap(getRecommendations());
+    }
+
     public Map<String, String> getRecommendations() {
         if (recommendations == null) {
             try {
@@ -77,6 +97,7 @@ public class MavenBomRecommendationProvider extends ClasspathBasedRecommendation
      */
     private Map<String, String> getMavenRecommendationsDirectly() {
         Map<String, String> recommendations = new HashMap<>();
+        long start = System.nanoTime();
         try {
             Set<File> recommendationFiles = configuration.resolve();
             for (File recommendation : recommendationFiles) {
@@ -110,6 +131,10 @@ public class MavenBomRecommendationProvider extends ClasspathBasedRecommendation
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
+        RecommendationStatistics statistics = RecommendationProviderContainer.statisticsOf(project);
+        if (statistics != null) {
+            statistics.bomParsed(System.nanoTime() - start);
+        }
         return recommendations;
     }
     
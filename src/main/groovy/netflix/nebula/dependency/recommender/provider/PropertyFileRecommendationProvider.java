@@ -1,30 +1,30 @@
 package netflix.nebula.dependency.recommender.provider;
 
 import org.gradle.api.Project;
+import org.gradle.api.artifacts.ModuleIdentifier;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 public class PropertyFileRecommendationProvider extends FileBasedRecommendationProvider {
-    private Properties recommendations;
+    private volatile Map<String, String> recommendations;
 
     private FuzzyVersionResolver fuzzyResolver = new FuzzyVersionResolver() {
         @Override
         protected Collection<String> propertyNames() {
-            return recommendations.stringPropertyNames();
+            return recommendations.keySet();
         }
 
         @Override
         protected String propertyValue(String name) {
-            String property = recommendations.getProperty(name);
-            if (property == null) {
-                return null;
-            }
-            return property.split(" ")[0].split("#")[0];
+            return recommendations.get(name);
         }
     };
 
@@ -34,13 +34,61 @@ public class PropertyFileRecommendationProvider extends FileBasedRecommendationP
 
     @Override
     public String getVersion(String org, String name) throws Exception {
-        if(recommendations == null) {
-            recommendations = new Properties();
-            try (InputStream inputStream = inputProvider.getInputStream()) {
-                recommendations.load(new ColonFilteringReader(new InputStreamReader(inputStream)));
+        ensureLoaded();
+        return fuzzyResolver.versionOf(org + "/" + name);
+    }
+
+    @Override
+    public Map<ModuleIdentifier, String> getVersions(Collection<? extends ModuleIdentifier> modules) throws Exception {
+        ensureLoaded();
+        Map<ModuleIdentifier, String> versions = new HashMap<>();
+        for (ModuleIdentifier module : modules) {
+            String version = fuzzyResolver.versionOf(module.getGroup() + "/" + module.getName());
+            if (version != null) {
+                versions.put(module, version);
             }
         }
-        return fuzzyResolver.versionOf(org + "/" + name);
+        return versions;
+    }
+
+    @Override
+    public Map<String, String> getAllVersions() throws Exception {
+        ensureLoaded();
+        Map<String, String> exactVersions = fuzzyResolver.exactVersions();
+        if (exactVersions == null) {
+            return null;
+        }
+        Map<String, String> versions = new HashMap<>();
+        for (Map.Entry<String, String> entry : exactVersions.entrySet()) {
+            // properties without a coordinate separator are only used as version references
+            if (entry.getKey().contains("/")) {
+                versions.put(entry.getKey().replace('/', ':'), entry.getValue());
+            }
+        }
+        return versions;
+    }
+
+    private void ensureLoaded() throws Exception {
+        if(recommendations == null) {
+            recommendations = loadRecommendations(new SourceParser<Map<String, String>>() {
+                @Override
+                public Map<String, String> parse(InputStream input) throws Exception {
+                    return parseProperties(input);
+                }
+            });
+        }
+    }
+
+    private Map<String, String> parseProperties(InputStream inputStream) throws IOException {
+        Properties properties = new Properties();
+        properties.load(new ColonFilteringReader(new InputStreamReader(inputStream)));
+
+        // values are stripped of trailing comments once here rather than on every lookup
+        Map<String, String> values = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            values.put(name, properties.getProperty(name).split(" ")[0].split("#")[0]);
+        }
+        return Collections.unmodifiableMap(values);
     }
 
     /**
@@ -68,4 +116,9 @@ public class PropertyFileRecommendationProvider extends FileBasedRecommendationP
             reader.close();
         }
     }
+
+    @Override
+    public long getGlobEvaluations() {
+        return fuzzyResolver.getGlobEvaluations();
+    }
 }
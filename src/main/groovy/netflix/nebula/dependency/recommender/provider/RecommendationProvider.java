@@ -1,7 +1,51 @@
 package netflix.nebula.dependency.recommender.provider;
 
+import org.gradle.api.artifacts.ModuleIdentifier;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 public interface RecommendationProvider {
     String getVersion(String org, String name) throws Exception;
     String getName();
     void setName(String name);
+
+    /**
+     * Looks up recommended versions for several modules at once. Providers that can answer a batch more cheaply
+     * than one {@link #getVersion(String, String)} call per module override this.
+     *
+     * @param modules the modules to look up
+     * @return the recommended version of each module that has one; modules without a recommendation are left out
+     */
+    default Map<ModuleIdentifier, String> getVersions(Collection<? extends ModuleIdentifier> modules) throws Exception {
+        Map<ModuleIdentifier, String> versions = new HashMap<>();
+        for (ModuleIdentifier module : modules) {
+            String version = getVersion(module.getGroup(), module.getName());
+            if (version != null) {
+                versions.put(module, version);
+            }
+        }
+        return versions;
+    }
+
+    /**
+     * Enumerates every recommendation this provider knows about, for providers whose recommendations form a finite
+     * set of coordinates.
+     *
+     * @return recommended versions keyed by <code>group:name</code>, or <code>null</code> if this provider cannot
+     * enumerate its recommendations, e.g. because they are computed or match coordinates by wildcard
+     */
+    default Map<String, String> getAllVersions() throws Exception {
+        return null;
+    }
+
+    /**
+     * @return how many times this provider has matched coordinates against a wildcard so far, for providers that
+     * support wildcards
+     * @since 13.2.0
+     */
+    default long getGlobEvaluations() {
+        return 0;
+    }
 }
@@ -19,9 +19,14 @@ import groovy.lang.Closure;
 import netflix.nebula.dependency.recommender.ConfigureUtil;
 import netflix.nebula.dependency.recommender.DependencyRecommendationsPlugin;
 import netflix.nebula.dependency.recommender.RecommendationStrategies;
+import netflix.nebula.dependency.recommender.jfr.ProviderPollEvent;
+import netflix.nebula.dependency.recommender.service.BomResolverService;
+import netflix.nebula.dependency.recommender.stats.RecommendationStatistics;
+import netflix.nebula.dependency.recommender.util.ConfigurationNameMatcher;
 import org.gradle.api.*;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.Dependency;
+import org.gradle.api.artifacts.ModuleIdentifier;
 import org.gradle.api.internal.ConfigureByMapAction;
 import org.gradle.api.model.ObjectFactory;
 import org.gradle.api.provider.Property;
@@ -43,8 +48,14 @@ public class RecommendationProviderContainer {
     private final Property<Boolean> strictMode;
     private final SetProperty<String> excludedConfigurations;
     private final SetProperty<String> excludedConfigurationPrefixes;
+    private final SetProperty<String> excludedConfigurationPatterns;
+    private transient volatile CompiledExclusions configurationExclusions;
     private Set<String> reasons = new HashSet<>(); // Keep as regular Set - it's an output/result collection
     private final Property<Boolean> eagerlyResolve;
+    private final Property<Boolean> preferIndex;
+    private final Property<Boolean> parseBomsLazily;
+    private final Property<Boolean> batchBomResolution;
+    private volatile RecommendationStatistics statistics;
     
     // Make strategies available without import
     public static final RecommendationStrategies OverrideTransitives = RecommendationStrategies.OverrideTransitives;
@@ -64,8 +75,16 @@ public class RecommendationProviderContainer {
                 .convention(new HashSet<>());
         this.excludedConfigurationPrefixes = objects.setProperty(String.class)
                 .convention(new HashSet<>());
+        this.excludedConfigurationPatterns = objects.setProperty(String.class)
+                .convention(new HashSet<>());
         this.eagerlyResolve = objects.property(Boolean.class)
                 .convention(true);
+        this.preferIndex = objects.property(Boolean.class)
+                .convention(false);
+        this.parseBomsLazily = objects.property(Boolean.class)
+                .convention(false);
+        this.batchBomResolution = objects.property(Boolean.class)
+                .convention(false);
 
         this.mavenBomProvider = getMavenBomRecommendationProvider();
         providers.add(this.mavenBomProvider);
@@ -185,6 +204,31 @@ public class RecommendationProviderContainer {
         return addProvider(new DependencyLockProvider(project), ConfigureUtil.<DependencyLockProvider>configureUsing(closure));
     }
 
+    /**
+     * Adds a provider reading a compiled {@link netflix.nebula.dependency.recommender.index.RecommendationIndex},
+     * given as <code>file</code> or <code>module</code>.
+     *
+     * @since 13.2.0
+     */
+    public IndexRecommendationProvider index(Map<String, ?> args) {
+        ensureCoreBomSupportNotEnabled("index");
+        Object source = args.get("module") != null ? args.get("module") : args.get("file");
+        String message = "nebula.dependency-recommender uses a recommendation index: " + source;
+        reasons.add(message);
+        Map<String, Object> modifiedArgs = new HashMap<String, Object>(args);
+        return addProvider(new IndexRecommendationProvider(project), new ConfigureByMapAction<IndexRecommendationProvider>(modifiedArgs));
+    }
+
+    /**
+     * @since 13.2.0
+     */
+    public IndexRecommendationProvider index(Closure closure) {
+        ensureCoreBomSupportNotEnabled("index");
+        String message = "nebula.dependency-recommender uses a recommendation index";
+        reasons.add(message);
+        return addProvider(new IndexRecommendationProvider(project), ConfigureUtil.<IndexRecommendationProvider>configureUsing(closure));
+    }
+
     public MapRecommendationProvider map(Map<String, ?> args) {
         ensureCoreBomSupportNotEnabled("map");
         String message = "nebula.dependency-recommender uses a provided map for recommendations";
@@ -215,21 +259,148 @@ public class RecommendationProviderContainer {
         return mavenBomProvider;
     }
 
+    /**
+     * Resolves the modules behind module-based recommendation sources, such as {@code propertiesFile(module: ...)},
+     * so that they are never resolved from within a dependency resolution callback.
+     *
+     * @since 13.2.0
+     */
+    public void eagerlyResolveModuleSources() {
+        for (RecommendationProvider provider : providers) {
+            if (provider instanceof FileBasedRecommendationProvider) {
+                ((FileBasedRecommendationProvider) provider).eagerlyResolveModule();
+            } else if (provider instanceof IndexRecommendationProvider) {
+                ((IndexRecommendationProvider) provider).eagerlyResolveModule();
+            }
+        }
+    }
+
     public String getRecommendedVersion(String group, String name) {
         // providers are queried in LIFO order
+        RecommendationStatistics statistics = getStatistics();
         for (int i = providers.size()-1; i >= 0; i--) {
+            RecommendationProvider provider = providers.get(i);
+            ProviderPollEvent event = new ProviderPollEvent();
+            event.begin();
             try {
-                String version = providers.get(i).getVersion(group, name);
+                String version = provider.getVersion(group, name);
+                event.hit = version != null;
                 if (version != null) {
                     return version;
                 }
             } catch(Exception e) {
-                project.getLogger().error("Exception while polling provider " + providers.get(i).getName() + " for version", e);
+                project.getLogger().error("Exception while polling provider " + provider.getName() + " for version", e);
+            } finally {
+                statistics.providerPolled(provider.getName(), event.hit);
+                if (event.shouldCommit()) {
+                    event.provider = provider.getName();
+                    event.module = group + ":" + name;
+                    event.commit();
+                }
             }
         }
         return null;
     }
 
+    /**
+     * Batch form of {@link #getRecommendedVersion(String, String)}: providers are queried in the same LIFO order,
+     * each one only for the modules no later provider had a recommendation for.
+     *
+     * @param modules the modules to look up
+     * @return the recommended version of each module that has one; modules without a recommendation are left out
+     * @since 13.2.0
+     */
+    public Map<ModuleIdentifier, String> getRecommendedVersions(Collection<? extends ModuleIdentifier> modules) {
+        Map<ModuleIdentifier, String> versions = new HashMap<>();
+        List<ModuleIdentifier> remaining = new ArrayList<>(modules);
+        RecommendationStatistics statistics = getStatistics();
+        for (int i = providers.size()-1; i >= 0 && !remaining.isEmpty(); i--) {
+            RecommendationProvider provider = providers.get(i);
+            int polled = remaining.size();
+            try {
+                Map<ModuleIdentifier, String> found = provider.getVersions(remaining);
+                statistics.providerPolled(provider.getName(), polled, found.size());
+                if (!found.isEmpty()) {
+                    versions.putAll(found);
+                    remaining.removeAll(found.keySet());
+                }
+            } catch(Exception e) {
+                statistics.providerPolled(provider.getName(), polled, 0);
+                project.getLogger().error("Exception while polling provider " + provider.getName() + " for versions", e);
+            }
+        }
+        return versions;
+    }
+
+    /**
+     * Enumerates what {@link #getRecommendedVersion(String, String)} would answer, loading every provider.
+     *
+     * @return recommended versions keyed by <code>group:name</code>, later providers winning as they do when polled,
+     * or <code>null</code> if a provider cannot enumerate its recommendations, e.g. because it matches coordinates by
+     * wildcard, or fails to load them, which is logged as a warning
+     * @since 13.2.0
+     */
+    public Map<String, String> getAllRecommendedVersions() {
+        Map<String, String> versions = new HashMap<>();
+        for (RecommendationProvider provider : providers) {
+            Map<String, String> all;
+            try {
+                all = provider.getAllVersions();
+            } catch (Exception e) {
+                project.getLogger().warn("Exception while listing the versions of provider " + provider.getName(), e);
+                return null;
+            }
+            if (all == null) {
+                return null;
+            }
+            versions.putAll(all);
+        }
+        return versions;
+    }
+
+    /**
+     * Returns the statistics of this project, which are kept by the shared {@link BomResolverService} so that the
+     * recommendationStats task can report them.
+     *
+     * @return the statistics of the project this container belongs to
+     * @since 13.2.0
+     */
+    public RecommendationStatistics getStatistics() {
+        RecommendationStatistics current = statistics;
+        if (current == null) {
+            synchronized (this) {
+                if (statistics == null) {
+                    RecommendationStatistics created = project.getGradle().getSharedServices()
+                            .registerIfAbsent("bomResolver", BomResolverService.class, spec -> {})
+                            .get().getStatistics(project.getPath());
+                    created.countGlobEvaluations(this::getGlobEvaluations);
+                    statistics = created;
+                }
+                current = statistics;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * @return the statistics of the project a provider belongs to, or <code>null</code> if the provider has no project
+     * or the project has no recommendations
+     */
+    static RecommendationStatistics statisticsOf(Project project) {
+        RecommendationProviderContainer container = project != null
+                ? project.getExtensions().findByType(RecommendationProviderContainer.class)
+                : null;
+        return container != null ? container.getStatistics() : null;
+    }
+
+    private long getGlobEvaluations() {
+        long total = 0;
+        for (RecommendationProvider provider : providers) {
+            total += provider.getGlobEvaluations();
+        }
+        return total;
+    }
+
     public Property<RecommendationStrategies> getStrategy() {
         return strategy;
     }
@@ -297,6 +468,51 @@ public class RecommendationProviderContainer {
         eagerlyResolve.set(value);
     }
 
+    /**
+     * Returns the Property controlling whether a BOM is read from the recommendation index published next to it.
+     *
+     * <p>When set to {@code true}, the artifact with extension
+     * {@value netflix.nebula.dependency.recommender.index.RecommendationIndex#EXTENSION} of each BOM module is looked
+     * for when BOMs are resolved through the shared build service, and used instead of the POM where it exists. BOMs
+     * without one are parsed as usual. Defaults to {@code false}, which saves a lookup per BOM in every repository.</p>
+     *
+     * @return Property containing the prefer index flag
+     * @since 13.2.0
+     */
+    public Property<Boolean> getPreferIndex() {
+        return preferIndex;
+    }
+
+    /**
+     * Returns the Property controlling whether the managed dependencies of a BOM are only decoded when looked up.
+     *
+     * <p>When set to {@code true}, BOMs resolved through the shared build service are indexed rather than parsed in
+     * full, and the version of an entry is only decoded and interpolated the first time it is asked for. This saves
+     * heap and time for very large BOMs of which each project uses a few entries. BOMs are shared between projects,
+     * so set it for every project that uses the same BOMs.</p>
+     *
+     * @return Property containing the lazy parsing flag
+     * @since 13.2.0
+     */
+    public Property<Boolean> getParseBomsLazily() {
+        return parseBomsLazily;
+    }
+
+    /**
+     * Returns the Property controlling whether BOMs are eagerly resolved for all projects at once.
+     *
+     * <p>When set to {@code true}, eager resolution does not run in the {@code afterEvaluate} of the project but
+     * once the build has evaluated all of its projects. Only the first project declaring each distinct set of BOM
+     * coordinates then resolves it, and the others are skipped. Only applies when {@link #getEagerlyResolve()} is
+     * set.</p>
+     *
+     * @return Property containing the batched resolution flag
+     * @since 13.2.0
+     */
+    public Property<Boolean> getBatchBomResolution() {
+        return batchBomResolution;
+    }
+
     public void excludeConfigurations(String ... names) {
         excludedConfigurations.addAll(Arrays.asList(names));
     }
@@ -313,6 +529,64 @@ public class RecommendationProviderContainer {
         return excludedConfigurationPrefixes;
     }
 
+    /**
+     * Excludes configurations whose whole name matches a glob, such as {@code *Scala*}, or a regular expression
+     * given with the {@value ConfigurationNameMatcher#REGEX_PREFIX} prefix.
+     *
+     * @since 13.2.0
+     */
+    public void excludeConfigurationPatterns(String ... patterns) {
+        excludedConfigurationPatterns.addAll(Arrays.asList(patterns));
+    }
+
+    /**
+     * @since 13.2.0
+     */
+    public SetProperty<String> getExcludedConfigurationPatterns() {
+        return excludedConfigurationPatterns;
+    }
+
+    /**
+     * Returns the configuration exclusions compiled into a matcher. The matcher is compiled again when the excluded
+     * names, prefixes or patterns have changed since it was last compiled, so exclusions added later, for instance
+     * from an {@code afterEvaluate} action, apply to the configurations checked after that.
+     *
+     * @return the compiled exclusions
+     * @since 13.2.0
+     */
+    public ConfigurationNameMatcher getConfigurationExclusions() {
+        Set<String> names = excludedConfigurations.get();
+        Set<String> prefixes = excludedConfigurationPrefixes.get();
+        Set<String> patterns = excludedConfigurationPatterns.get();
+        CompiledExclusions compiled = configurationExclusions;
+        if (compiled == null || !compiled.isCompiledFrom(names, prefixes, patterns)) {
+            compiled = new CompiledExclusions(names, prefixes, patterns);
+            configurationExclusions = compiled;
+        }
+        return compiled.matcher;
+    }
+
+    /**
+     * A matcher with the exclusions it was compiled from.
+     */
+    private static final class CompiledExclusions {
+        private final Set<String> names;
+        private final Set<String> prefixes;
+        private final Set<String> patterns;
+        private final ConfigurationNameMatcher matcher;
+
+        CompiledExclusions(Set<String> names, Set<String> prefixes, Set<String> patterns) {
+            this.names = names;
+            this.prefixes = prefixes;
+            this.patterns = patterns;
+            this.matcher = ConfigurationNameMatcher.compile(names, prefixes, patterns);
+        }
+
+        boolean isCompiledFrom(Set<String> names, Set<String> prefixes, Set<String> patterns) {
+            return this.names.equals(names) && this.prefixes.equals(prefixes) && this.patterns.equals(patterns);
+        }
+    }
+
     public Set<String> getReasons() {
         return reasons;
     }
@@ -344,7 +618,7 @@ public class RecommendationProviderContainer {
                     rawPomDependencies.toArray(new org.gradle.api.artifacts.Dependency[0]));
             
             // Use the build service with cached data only (no resolution during dependency resolution)
-            return bomResolverService.get().getCachedRecommendationsFromConfiguration(detachedConfig, reasons);
+            return bomResolverService.get().getCachedRecommendationsFromConfiguration(detachedConfig, project, reasons);
         }
     }
 }
@@ -1,9 +1,18 @@
 package netflix.nebula.dependency.recommender.provider;
 
 import netflix.nebula.dependency.recommender.ModuleNotationParser;
+import org.gradle.api.InvalidUserDataException;
 import org.gradle.api.Project;
+import org.gradle.api.artifacts.ModuleIdentifier;
 import org.gradle.api.artifacts.ModuleVersionIdentifier;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 public class RecommendationResolver {
     Project project;
 
@@ -20,4 +29,44 @@ public class RecommendationResolver {
 
         return mvid.getGroup() + ":" + mvid.getName() + ":" + version;
     }
+
+    /**
+     * Like {@link #recommend(String, String)} for many notations at once: the provider is looked up once and asked for
+     * all of the missing versions in a single batch.
+     *
+     * @param dependencyNotations the notations to complete; notations that already have a version are kept as they are
+     * @param recommenderName the name of the provider to take versions from
+     * @return the completed notations, in the order they were given
+     * @throws InvalidUserDataException naming every notation the provider has no recommendation for
+     */
+    public List<String> recommendAll(Iterable<String> dependencyNotations, String recommenderName) throws Exception {
+        List<ModuleVersionIdentifier> mvids = ModuleNotationParser.parseAll(dependencyNotations);
+
+        Set<ModuleIdentifier> unversioned = new LinkedHashSet<>();
+        for (ModuleVersionIdentifier mvid : mvids) {
+            if (mvid.getVersion() == null) {
+                unversioned.add(mvid.getModule());
+            }
+        }
+
+        Map<ModuleIdentifier, String> versions = unversioned.isEmpty() ? Collections.<ModuleIdentifier, String>emptyMap() :
+                project.getExtensions().findByType(RecommendationProviderContainer.class).getByName(recommenderName)
+                        .getVersions(unversioned);
+
+        List<String> recommended = new ArrayList<>(mvids.size());
+        List<String> missing = new ArrayList<>();
+        for (ModuleVersionIdentifier mvid : mvids) {
+            String version = mvid.getVersion() != null ? mvid.getVersion() : versions.get(mvid.getModule());
+            if (version == null) {
+                missing.add(mvid.getGroup() + ":" + mvid.getName());
+            }
+            recommended.add(mvid.getGroup() + ":" + mvid.getName() + ":" + version);
+        }
+
+        if (!missing.isEmpty()) {
+            throw new InvalidUserDataException("Recommender '" + recommenderName + "' has no recommended version for " +
+                    missing.size() + " of the requested dependencies: " + String.join(", ", missing));
+        }
+        return recommended;
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.provider;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * The recommended versions of a project, frozen into sorted arrays so that they can be stored by the configuration
+ * cache and looked up without any of the providers they were read from.
+ *
+ * @since 13.2.0
+ */
+public final class RecommendationSnapshot implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final String[] coordinates;
+    private final String[] versions;
+    private final String[] reasons;
+
+    private RecommendationSnapshot(String[] coordinates, String[] versions, String[] reasons) {
+        this.coordinates = coordinates;
+        this.versions = versions;
+        this.reasons = reasons;
+    }
+
+    /**
+     * @param versions recommended versions keyed by <code>group:name</code>
+     * @param reasons the reasons given for the recommendations
+     */
+    public static RecommendationSnapshot of(Map<String, String> versions, Collection<String> reasons) {
+        TreeMap<String, String> sorted = new TreeMap<>(versions);
+        List<String> coordinates = new ArrayList<>(sorted.size());
+        List<String> values = new ArrayList<>(sorted.size());
+        for (Map.Entry<String, String> entry : sorted.entrySet()) {
+            if (entry.getValue() != null) {
+                coordinates.add(entry.getKey());
+                values.add(entry.getValue());
+            }
+        }
+        return new RecommendationSnapshot(coordinates.toArray(new String[0]), values.toArray(new String[0]),
+                reasons.toArray(new String[0]));
+    }
+
+    /**
+     * @return the recommended version of the module, or <code>null</code> if there is none
+     */
+    public String getVersion(String group, String name) {
+        int index = Arrays.binarySearch(coordinates, group + ":" + name);
+        return index >= 0 ? versions[index] : null;
+    }
+
+    /**
+     * @return the recommended versions keyed by <code>group:name</code>
+     */
+    public Map<String, String> getVersions() {
+        Map<String, String> all = new TreeMap<>();
+        for (int i = 0; i < coordinates.length; i++) {
+            all.put(coordinates[i], versions[i]);
+        }
+        return Collections.unmodifiableMap(all);
+    }
+
+    public Set<String> getReasons() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(reasons)));
+    }
+
+    public int size() {
+        return coordinates.length;
+    }
+}
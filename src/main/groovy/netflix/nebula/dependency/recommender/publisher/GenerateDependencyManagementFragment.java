@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.publisher;
+
+import netflix.nebula.dependency.recommender.ModuleNotationParser;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes the dependencyManagement section of a BOM publication to a file of its own, so that the section is only
+ * computed again when the managed dependencies change and can be taken from the build cache otherwise.
+ *
+ * <p>The {@code nebulaDependencyManagement} extension registers one of these tasks per Maven publication and feeds it
+ * from {@link MavenBomXmlGenerator#fromConfigurations} and {@link MavenBomXmlGenerator#withDependencies}. Generating
+ * the publication's POM only reads the fragment back.</p>
+ *
+ * @since 13.2.0
+ */
+@CacheableTask
+public abstract class GenerateDependencyManagementFragment extends DefaultTask {
+    private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+    /**
+     * @return the managed dependencies as {@code group:name:version} coordinates, in the order they are written
+     */
+    @Input
+    public abstract ListProperty<String> getManagedDependencies();
+
+    @OutputFile
+    public abstract RegularFileProperty getFragmentFile();
+
+    @TaskAction
+    public void generate() throws IOException {
+        List<ModuleVersionIdentifier> dependencies = new ArrayList<>();
+        for (String coordinates : getManagedDependencies().get()) {
+            dependencies.add(parse(coordinates));
+        }
+
+        StringBuilder fragment = new StringBuilder("<project>").append(System.lineSeparator()).append("</project>");
+        DependencyManagementXmlWriter.write(fragment, dependencies);
+        Files.write(getFragmentFile().get().getAsFile().toPath(), fragment.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the coordinates the task expects for a module, with a missing part left empty
+     */
+    static String coordinates(ModuleVersionIdentifier module) {
+        return part(module.getGroup()) + ":" + part(module.getName()) + ":" + part(module.getVersion());
+    }
+
+    static ModuleVersionIdentifier parse(String coordinates) {
+        String[] parts = coordinates.split(":", 3);
+        return ModuleNotationParser.newId(missing(parts[0]), missing(parts[1]), missing(parts[2]));
+    }
+
+    private static String part(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static String missing(String part) {
+        return part.isEmpty() ? null : part;
+    }
+
+    /**
+     * Reads back the managed dependencies of a fragment written by this task.
+     */
+    static List<ModuleVersionIdentifier> read(File fragment) {
+        List<ModuleVersionIdentifier> dependencies = new ArrayList<>();
+        try (InputStream input = Files.newInputStream(fragment.toPath())) {
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(input, "UTF-8");
+            try {
+                String group = null;
+                String name = null;
+                while (reader.hasNext()) {
+                    if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                        continue;
+                    }
+                    switch (reader.getLocalName()) {
+                        case "groupId":
+                            group = missing(reader.getElementText());
+                            break;
+                        case "artifactId":
+                            name = missing(reader.getElementText());
+                            break;
+                        case "version":
+                            dependencies.add(ModuleNotationParser.newId(group, name, missing(reader.getElementText())));
+                            break;
+                        default:
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (XMLStreamException e) {
+            throw new IllegalStateException("Unable to read dependencyManagement fragment " + fragment, e);
+        }
+        return dependencies;
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
@@ -16,17 +16,40 @@
 package netflix.nebula.dependency.recommender.publisher
 
 import groovy.transform.CompileDynamic
+import groovy.transform.CompileStatic
 import netflix.nebula.dependency.recommender.ModuleNotationParser
+import org.gradle.api.Action
+import org.gradle.api.GradleException
 import org.gradle.api.Project
+import org.gradle.api.Transformer
+import org.gradle.api.XmlProvider
 import org.gradle.api.artifacts.Configuration
 import org.gradle.api.artifacts.ModuleVersionIdentifier
-import org.gradle.api.artifacts.ResolvedDependency
+import org.gradle.api.artifacts.result.DependencyResult
+import org.gradle.api.artifacts.result.ResolvedComponentResult
+import org.gradle.api.artifacts.result.ResolvedDependencyResult
+import org.gradle.api.artifacts.result.ResolvedVariantResult
+import org.gradle.api.artifacts.result.UnresolvedDependencyResult
+import org.gradle.api.file.RegularFile
+import org.gradle.api.provider.ListProperty
+import org.gradle.api.provider.Provider
 import org.gradle.api.publish.maven.MavenPublication
+import org.gradle.api.publish.maven.tasks.GenerateMavenPom
+import org.gradle.api.tasks.TaskProvider
 
 @CompileDynamic
 class MavenBomXmlGenerator {
     Project project
 
+    /**
+     * When set, dependencyManagement entries are sorted by coordinates and repeats are left out, so that the section
+     * only changes when the managed dependencies do. Otherwise entries are written in the order they are found.
+     * Applies to the {@link #fromConfigurations} and {@link #withDependencies} calls made after it is set.
+     */
+    boolean sortManagedDependencies = false
+
+    private final Map<String, TaskProvider<GenerateDependencyManagementFragment>> fragmentTasks = [:]
+
     MavenBomXmlGenerator(Project project) {
         this.project = project
     }
@@ -42,7 +65,11 @@ class MavenBomXmlGenerator {
         else if(Iterable.class.isAssignableFrom(configurationsRet.class))
             configurations = configurationsRet as Iterable<Configuration>
 
-        generateDependencyManagementXml(pub, { configurations.collect { getManagedDependencies(it) }.flatten() })
+        // nothing is resolved until the fragment task's inputs are needed
+        ListProperty<ResolvedComponentResult> roots = project.objects.listProperty(ResolvedComponentResult)
+        configurations.each { roots.add(it.incoming.resolutionResult.rootComponent) }
+        Provider<List<String>> coordinates = roots.map(new ManagedCoordinates(sortManagedDependencies))
+        fragmentTask(pub).configure { it.managedDependencies.addAll(coordinates) }
     }
 
     void withDependencies(Closure dependenciesClosure) {
@@ -56,29 +83,80 @@ class MavenBomXmlGenerator {
         else if(Iterable.class.isAssignableFrom(dependenciesRet.class))
             dependencies = dependenciesRet as Iterable<String>
 
-        generateDependencyManagementXml(pub, { dependencies.collect { ModuleNotationParser.parse(it) } })
+        List<String> coordinates = managedCoordinates(ModuleNotationParser.parseAll(dependencies), sortManagedDependencies)
+        fragmentTask(pub).configure { it.managedDependencies.addAll(coordinates) }
     }
 
-    @CompileDynamic
-    protected static generateDependencyManagementXml(MavenPublication pub, Closure<Iterable<ModuleVersionIdentifier>> deps) {
-        pub.pom.withXml {
-            Node root = it.asNode()
-            def dependencyManagement = root.getByName("dependencyManagement")
-
-            // when merging two or more sources of dependencies, we want to only create one dependencyManagement section
-            Node dependencies
-            if(dependencyManagement.isEmpty())
-                dependencies = root.appendNode("dependencyManagement").appendNode("dependencies")
-            else
-                dependencies = dependencyManagement[0].getByName("dependencies")[0]
-
-            deps.call().each { mvid ->
-                Node dep = dependencies.appendNode("dependency")
-                dep.appendNode("groupId").value = mvid.group
-                dep.appendNode("artifactId").value = mvid.name
-                dep.appendNode("version").value = mvid.version
+    /**
+     * Registers the task that writes the dependencyManagement section of the publication, the first time the
+     * publication is given managed dependencies, and has the publication's POM read the section from its output.
+     */
+    private TaskProvider<GenerateDependencyManagementFragment> fragmentTask(MavenPublication pub) {
+        TaskProvider<GenerateDependencyManagementFragment> task = fragmentTasks[pub.name]
+        if (task != null) {
+            return task
+        }
+
+        String publicationName = pub.name.capitalize()
+        task = project.tasks.register("generateDependencyManagementFor${publicationName}Publication", GenerateDependencyManagementFragment) {
+            it.description = "Generates the dependencyManagement section of the POM of publication '${pub.name}'."
+            it.fragmentFile.set(project.layout.buildDirectory.file("publications/${pub.name}/dependency-management.xml"))
+        }
+        fragmentTasks[pub.name] = task
+
+        Provider<RegularFile> fragment = task.flatMap { it.fragmentFile }
+        String pomTaskName = "generatePomFileFor${publicationName}Publication"
+        project.tasks.withType(GenerateMavenPom).configureEach {
+            if (it.name == pomTaskName) {
+                it.inputs.file(fragment).withPropertyName('dependencyManagementFragment')
             }
         }
+        pub.pom.withXml(new DependencyManagementFromFragment(fragment))
+        return task
+    }
+
+    @CompileStatic
+    protected static List<String> managedCoordinates(Iterable<ModuleVersionIdentifier> deps, boolean sort) {
+        Iterable<ModuleVersionIdentifier> ordered = sort ? DependencyManagementXmlWriter.sortedDistinct(deps) : deps
+        return ordered.collect { GenerateDependencyManagementFragment.coordinates(it) }
+    }
+
+    protected static void streamDependencyManagementXml(XmlProvider xml, Iterable<ModuleVersionIdentifier> deps) {
+        // have Gradle print the POM from its node tree first, so that everything around the streamed entries is laid
+        // out exactly as appendDependencyManagementXml would leave it
+        xml.asNode()
+        StringBuilder pom = xml.asString()
+        if (DependencyManagementXmlWriter.canWrite(pom)) {
+            DependencyManagementXmlWriter.write(pom, deps)
+        } else {
+            appendDependencyManagementXml(xml.asNode(), deps)
+        }
+    }
+
+    protected static void appendDependencyManagementXml(Node root, Iterable<ModuleVersionIdentifier> deps) {
+        def dependencyManagement = root.getByName("dependencyManagement")
+
+        // when merging two or more sources of dependencies, we want to only create one dependencyManagement section
+        Node dependencies
+        if(dependencyManagement.isEmpty())
+            dependencies = root.appendNode("dependencyManagement").appendNode("dependencies")
+        else
+            dependencies = dependencyManagement[0].getByName("dependencies")[0]
+
+        deps.each { mvid ->
+            Node dep = dependencies.appendNode("dependency")
+            appendValue(dep, "groupId", mvid.group)
+            appendValue(dep, "artifactId", mvid.name)
+            appendValue(dep, "version", mvid.version)
+        }
+    }
+
+    private static void appendValue(Node dependency, String name, String value) {
+        // a node given a null value would print as the text null, leave it empty instead
+        Node node = dependency.appendNode(name)
+        if (value != null) {
+            node.value = value
+        }
     }
 
     @CompileDynamic
@@ -86,17 +164,94 @@ class MavenBomXmlGenerator {
         return configurationsClosure.delegate.delegate
     }
 
+    @CompileStatic
     protected static Set<ModuleVersionIdentifier> getManagedDependencies(Configuration configuration) {
-        getManagedDependenciesRecursive(configuration.resolvedConfiguration.firstLevelModuleDependencies,
-                new HashSet<ModuleVersionIdentifier>())
+        getManagedDependencies([configuration.incoming.resolutionResult.rootComponent])
     }
 
-    protected static Set<ModuleVersionIdentifier> getManagedDependenciesRecursive(Set<ResolvedDependency> deps, Set<ModuleVersionIdentifier> all) {
-        deps.each { dep ->
-            if (all.add(dep.module.id)) {
-                getManagedDependenciesRecursive(dep.children, all)
+    @CompileStatic
+    protected static Set<ModuleVersionIdentifier> getManagedDependencies(Iterable<Provider<ResolvedComponentResult>> roots) {
+        collectManagedDependencies(roots.collect { it.get() })
+    }
+
+    /**
+     * Walks the resolved graphs of several configurations without recursion, visiting each variant of a component once
+     * across all of them.
+     *
+     * @param roots the root components of the configurations' resolution results
+     * @return the module versions of every component reachable from the roots, the roots themselves excluded
+     */
+    @CompileStatic
+    protected static Set<ModuleVersionIdentifier> collectManagedDependencies(Iterable<ResolvedComponentResult> roots) {
+        Set<ModuleVersionIdentifier> all = new LinkedHashSet<>()
+        Set<String> visited = new HashSet<>()
+        Deque<ResolvedDependencyResult> pending = new ArrayDeque<>()
+
+        for (ResolvedComponentResult root : roots) {
+            push(pending, root.dependencies)
+            while (!pending.isEmpty()) {
+                ResolvedDependencyResult dependency = pending.pop()
+                ResolvedComponentResult component = dependency.selected
+                ResolvedVariantResult variant = dependency.resolvedVariant
+                if (!visited.add(component.id.displayName + '|' + variant.displayName)) {
+                    continue
+                }
+                if (component.moduleVersion != null) {
+                    all.add(component.moduleVersion)
+                }
+                push(pending, component.getDependenciesForVariant(variant))
             }
         }
         return all
     }
+
+    @CompileStatic
+    private static void push(Deque<ResolvedDependencyResult> pending, Collection<? extends DependencyResult> dependencies) {
+        // pushed in reverse so that dependencies are visited in declaration order, as a recursive walk would
+        List<? extends DependencyResult> reversed = new ArrayList<>(dependencies).reverse()
+        for (DependencyResult dependency : reversed) {
+            if (dependency instanceof UnresolvedDependencyResult) {
+                UnresolvedDependencyResult unresolved = (UnresolvedDependencyResult) dependency
+                throw new GradleException("Could not resolve ${unresolved.attempted.displayName} for the BOM's dependencyManagement section", unresolved.failure)
+            }
+            if (!dependency.constraint) {
+                pending.push((ResolvedDependencyResult) dependency)
+            }
+        }
+    }
+
+    /**
+     * Turns the resolved configurations of a publication into its managed coordinates. Only the sort flag is captured,
+     * so that the configuration cache stores no project state with the fragment task's input.
+     */
+    @CompileStatic
+    private static class ManagedCoordinates implements Transformer<List<String>, List<ResolvedComponentResult>> {
+        private final boolean sort
+
+        ManagedCoordinates(boolean sort) {
+            this.sort = sort
+        }
+
+        @Override
+        List<String> transform(List<ResolvedComponentResult> roots) {
+            return managedCoordinates(collectManagedDependencies(roots), sort)
+        }
+    }
+
+    /**
+     * Writes the dependencyManagement section read from the fragment file into the POM of a publication.
+     */
+    @CompileStatic
+    private static class DependencyManagementFromFragment implements Action<XmlProvider> {
+        private final Provider<RegularFile> fragment
+
+        DependencyManagementFromFragment(Provider<RegularFile> fragment) {
+            this.fragment = fragment
+        }
+
+        @Override
+        void execute(XmlProvider xml) {
+            streamDependencyManagementXml(xml, GenerateDependencyManagementFragment.read(fragment.get().asFile))
+        }
+    }
 }
@@ -15,6 +15,11 @@
  */
 package netflix.nebula.dependency.recommender.service;
 
+import netflix.nebula.dependency.recommender.index.RecommendationIndex;
+import netflix.nebula.dependency.recommender.jfr.BomParseEvent;
+import netflix.nebula.dependency.recommender.jfr.ParentPomResolutionEvent;
+import netflix.nebula.dependency.recommender.provider.RecommendationProviderContainer;
+import netflix.nebula.dependency.recommender.stats.RecommendationStatistics;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.Model;
 import org.apache.maven.model.Parent;
@@ -26,9 +31,16 @@ import org.apache.maven.model.path.DefaultUrlNormalizer;
 import org.apache.maven.model.resolution.InvalidRepositoryException;
 import org.apache.maven.model.resolution.ModelResolver;
 import org.apache.maven.model.resolution.UnresolvableModelException;
+import org.codehaus.plexus.interpolation.InterpolationException;
+import org.codehaus.plexus.interpolation.StringSearchInterpolator;
 import org.codehaus.plexus.interpolation.ValueSource;
 import org.gradle.api.Project;
+import org.gradle.api.artifacts.ArtifactCollection;
 import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.ExternalModuleDependency;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ModuleComponentIdentifier;
+import org.gradle.api.artifacts.result.ResolvedArtifactResult;
 import org.gradle.api.services.BuildService;
 import org.gradle.api.services.BuildServiceParameters;
 
@@ -65,6 +77,19 @@ public abstract class BomResolverService implements BuildService<BuildServicePar
     private final ConcurrentHashMap<String, Map<String, String>> bomRecommendations = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, Set<String>> bomReasons = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, Object> locks = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, RecommendationStatistics> statistics = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the statistics of a project, which this service and the project's recommendation container add to as
+     * the build runs.
+     *
+     * @param projectPath the path of the project
+     * @return the statistics of the project, created empty on first use
+     * @since 13.2.0
+     */
+    public RecommendationStatistics getStatistics(String projectPath) {
+        return statistics.computeIfAbsent(projectPath, path -> new RecommendationStatistics());
+    }
 
     /**
      * Retrieves BOM recommendations for a given project configuration.
@@ -82,7 +107,25 @@ public abstract class BomResolverService implements BuildService<BuildServicePar
      */
     public Map<String, String> getRecommendations(Project project, String configName, Set<String> reasons) {
         Configuration configuration = project.getConfigurations().getByName(configName);
-        return getCachedRecommendationsFromConfiguration(configuration, reasons);
+        return getCachedRecommendationsFromConfiguration(configuration, project, reasons);
+    }
+
+    /**
+     * Same as {@link #getCachedRecommendationsFromConfiguration(Configuration, Set)}, counting the cache hit or miss
+     * in the statistics of {@code project}.
+     *
+     * @since 13.2.0
+     */
+    public Map<String, String> getCachedRecommendationsFromConfiguration(Configuration configuration, Project project, Set<String> reasons) {
+        RecommendationStatistics projectStatistics = getStatistics(project.getPath());
+        try {
+            Map<String, String> cached = getCachedRecommendationsFromConfiguration(configuration, reasons);
+            projectStatistics.bomCacheHit();
+            return cached;
+        } catch (RuntimeException e) {
+            projectStatistics.bomCacheMiss();
+            throw e;
+        }
     }
     
     /**
@@ -144,6 +187,30 @@ public abstract class BomResolverService implements BuildService<BuildServicePar
         }
     }
     
+    /**
+     * Eagerly resolves and caches the BOM recommendations of several projects in one pass.
+     *
+     * <p>Recommendations are cached by the coordinates of the BOMs a configuration declares, so only the first project
+     * declaring each distinct set of coordinates resolves it. The other projects are skipped, and read the cached
+     * recommendations when their configurations are resolved. If the resolution of a set fails, empty results are
+     * cached for it, as with {@link #eagerlyResolveAndCacheBoms(Project, String)}.</p>
+     *
+     * @param projects the Gradle projects containing the BOM configuration
+     * @param configName the name of the configuration containing BOM dependencies
+     * @return the number of distinct sets of BOMs, i.e. of projects that resolved one
+     * @since 13.2.0
+     */
+    public int eagerlyResolveAndCacheBoms(Collection<Project> projects, String configName) {
+        Map<String, Project> firstProjectByBoms = new LinkedHashMap<>();
+        for (Project project : projects) {
+            firstProjectByBoms.putIfAbsent(createBomKey(project, configName), project);
+        }
+        for (Project project : firstProjectByBoms.values()) {
+            eagerlyResolveAndCacheBoms(project, configName);
+        }
+        return firstProjectByBoms.size();
+    }
+
     /**
      * Resolves BOM recommendations from a configuration with full Maven model building.
      * 
@@ -163,6 +230,8 @@ public abstract class BomResolverService implements BuildService<BuildServicePar
         String bomKey = createBomKeyFromConfiguration(configuration);
         Object lock = locks.computeIfAbsent(bomKey, k -> new Object());
         
+        RecommendationStatistics projectStatistics = getStatistics(project.getPath());
+        
         // Check if already resolved
         Map<String, String> cached = bomRecommendations.get(bomKey);
         if (cached != null) {
@@ -170,6 +239,7 @@ public abstract class BomResolverService implements BuildService<BuildServicePar
             if (cachedReasons != null) {
                 reasons.addAll(cachedReasons);
             }
+            projectStatistics.bomCacheHit();
             return cached;
         }
         
@@ -182,22 +252,48 @@ public abstract class BomResolverService implements BuildService<BuildServicePar
                 if (cachedReasons != null) {
                     reasons.addAll(cachedReasons);
                 }
+                projectStatistics.bomCacheHit();
                 return cached;
             }
+            projectStatistics.bomCacheMiss();
             
             try {
                 Map<String, String> recommendations = new HashMap<>();
                 Set<String> currentReasons = new HashSet<>();
                 
+                CompositeBomTables composite = CompositeBomTables.of(project);
                 Set<File> bomFiles = configuration.resolve();
+                Map<String, File> indexes = shouldPreferIndex(project)
+                        ? resolveIndexes(configuration, project)
+                        : Collections.<String, File>emptyMap();
+                Map<File, String> bomCoordinates = indexes.isEmpty()
+                        ? Collections.<File, String>emptyMap()
+                        : coordinatesOf(configuration.getIncoming().getArtifacts());
+                boolean lazily = shouldParseLazily(project);
+                List<Map<String, String>> layers = new ArrayList<>();
                 
                 for (File bomFile : bomFiles) {
                     if (!bomFile.getName().endsWith("pom")) {
                         continue;
                     }
                     
-                    Map<String, String> bomRecommendations = parseBom(bomFile, project, currentReasons);
-                    recommendations.putAll(bomRecommendations);
+                    String coordinates = bomCoordinates.get(bomFile);
+                    File index = coordinates != null ? indexes.get(coordinates) : null;
+                    if (index != null) {
+                        layers.add(RecommendationIndex.open(index).toMap());
+                        currentReasons.add("nebula.dependency-recommender uses a recommendation index: " + index.getName());
+                        continue;
+                    }
+                    
+                    layers.add(parseOrReuseBom(bomFile, project, currentReasons, lazily, composite, projectStatistics));
+                }
+                if (lazily && !layers.isEmpty()) {
+                    // copying would decode every entry of the lazily parsed BOMs
+                    recommendations = LazyBomRecommendations.layer(layers);
+                } else {
+                    for (Map<String, String> layer : layers) {
+                        recommendations.putAll(layer);
+                    }
                 }
                 
                 bomRecommendations.put(bomKey, recommendations);
@@ -210,6 +306,117 @@ public abstract class BomResolverService implements BuildService<BuildServicePar
         }
     }
     
+    /**
+     * Parses a BOM, unless another build of the same composite build, see {@link CompositeBomTables}, or an earlier
+     * build in the daemon, see {@link DaemonBomCache}, has a table of it that was parsed from the same inputs.
+     */
+    private Map<String, String> parseOrReuseBom(File bomFile, Project project, Set<String> reasons, boolean lazily,
+                                                CompositeBomTables composite,
+                                                RecommendationStatistics projectStatistics) throws Exception {
+        // lazily parsed tables interpolate with the project they were parsed for, so they must not outlive the build
+        DaemonBomCache compositeCache = composite != null && !lazily ? composite.getTables() : null;
+        if (compositeCache != null) {
+            DaemonBomCache.Table table = compositeCache.get(bomFile, project.getProviders(), coordinates -> resolvePom(project, coordinates));
+            if (table != null) {
+                projectStatistics.compositeBomCacheHit();
+                reasons.addAll(table.reasons);
+                return table.recommendations;
+            }
+        }
+        DaemonBomCache daemonCache = DaemonBomCache.getInstance();
+        boolean reusable = daemonCache.isEnabled() && !lazily;
+        if (reusable) {
+            DaemonBomCache.Table table = daemonCache.get(bomFile, project.getProviders(), coordinates -> resolvePom(project, coordinates));
+            if (table != null) {
+                projectStatistics.daemonBomCacheHit();
+                reasons.addAll(table.reasons);
+                if (compositeCache != null) {
+                    compositeCache.put(bomFile, table);
+                }
+                return table.recommendations;
+            }
+        }
+
+        long start = System.nanoTime();
+        Set<String> bomReasons = new HashSet<>();
+        DaemonBomCache.Inputs inputs = reusable || compositeCache != null ? new DaemonBomCache.Inputs() : null;
+        Map<String, String> recommendations = parseBom(bomFile, project, bomReasons, lazily, inputs);
+        projectStatistics.bomParsed(System.nanoTime() - start);
+        reasons.addAll(bomReasons);
+        if (inputs != null) {
+            DaemonBomCache.Table table = new DaemonBomCache.Table(recommendations, bomReasons, inputs, project.getProviders());
+            if (reusable) {
+                daemonCache.put(bomFile, table);
+            }
+            if (compositeCache != null) {
+                compositeCache.put(bomFile, table);
+            }
+        }
+        return recommendations;
+    }
+
+    /**
+     * @return the POM of the given coordinates as the project resolves it, or <code>null</code> if it cannot
+     */
+    private static File resolvePom(Project project, String coordinates) {
+        Configuration configuration = project.getConfigurations().detachedConfiguration(
+                project.getDependencies().create(coordinates + "@pom"));
+        Set<File> files = configuration.getIncoming().artifactView(view -> view.lenient(true)).getFiles().getFiles();
+        return files.isEmpty() ? null : files.iterator().next();
+    }
+
+    private static boolean shouldParseLazily(Project project) {
+        RecommendationProviderContainer container = project.getExtensions().findByType(RecommendationProviderContainer.class);
+        return container != null && container.getParseBomsLazily().getOrElse(false);
+    }
+
+    private static boolean shouldPreferIndex(Project project) {
+        RecommendationProviderContainer container = project.getExtensions().findByType(RecommendationProviderContainer.class);
+        return container != null && container.getPreferIndex().getOrElse(false);
+    }
+
+    /**
+     * Looks for the recommendation index published next to each BOM of a configuration. BOMs without one are left out
+     * rather than failing the resolution.
+     *
+     * @return the index files found, keyed by the <code>group:name:version</code> of their BOM
+     */
+    private static Map<String, File> resolveIndexes(Configuration configuration, Project project) {
+        List<org.gradle.api.artifacts.Dependency> indexDependencies = new ArrayList<>();
+        for (org.gradle.api.artifacts.Dependency dependency : configuration.getAllDependencies()) {
+            if (dependency instanceof ExternalModuleDependency && dependency.getVersion() != null) {
+                indexDependencies.add(project.getDependencies().create(dependency.getGroup() + ":" + dependency.getName() +
+                        ":" + dependency.getVersion() + "@" + RecommendationIndex.EXTENSION));
+            }
+        }
+        if (indexDependencies.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Configuration detached = project.getConfigurations().detachedConfiguration(
+                indexDependencies.toArray(new org.gradle.api.artifacts.Dependency[0]));
+        Map<String, File> indexes = new HashMap<>();
+        for (Map.Entry<File, String> index : coordinatesOf(detached.getIncoming().artifactView(view -> view.lenient(true)).getArtifacts()).entrySet()) {
+            indexes.put(index.getValue(), index.getKey());
+        }
+        return indexes;
+    }
+
+    /**
+     * @return the <code>group:name:version</code> of the module each resolved artifact belongs to, keyed by the
+     * artifact file; artifacts of other components are left out
+     */
+    private static Map<File, String> coordinatesOf(ArtifactCollection artifacts) {
+        Map<File, String> coordinates = new HashMap<>();
+        for (ResolvedArtifactResult artifact : artifacts) {
+            ComponentIdentifier component = artifact.getId().getComponentIdentifier();
+            if (component instanceof ModuleComponentIdentifier) {
+                ModuleComponentIdentifier module = (ModuleComponentIdentifier) component;
+                coordinates.put(artifact.getFile(), module.getGroup() + ":" + module.getModule() + ":" + module.getVersion());
+            }
+        }
+        return coordinates;
+    }
+
     /**
      * Creates a cache key for BOM recommendations based on project and configuration.
      * 
@@ -273,16 +480,40 @@ public abstract class BomResolverService implements BuildService<BuildServicePar
      * @return a map of dependency coordinates to recommended versions
      * @throws Exception if BOM parsing or model building fails
      */
-    private Map<String, String> parseBom(File bomFile, Project project, Set<String> reasons) throws Exception {
+    Map<String, String> parseBom(File bomFile, Project project, Set<String> reasons) throws Exception {
+        return parseBom(bomFile, project, reasons, false);
+    }
+
+    /**
+     * Same as {@link #parseBom(File, Project, Set)}, optionally leaving the BOM's own managed dependencies to be
+     * decoded when they are looked up, see {@link LazyBomRecommendations}.
+     *
+     * @since 13.2.0
+     */
+    Map<String, String> parseBom(File bomFile, Project project, Set<String> reasons, boolean lazily) throws Exception {
+        return parseBom(bomFile, project, reasons, lazily, null);
+    }
+
+    /**
+     * @param inputs collects the parent POMs and the interpolated properties that the BOM is parsed from, if not
+     * <code>null</code>
+     */
+    private Map<String, String> parseBom(File bomFile, Project project, Set<String> reasons, boolean lazily,
+                                         DaemonBomCache.Inputs inputs) throws Exception {
+        BomParseEvent event = new BomParseEvent();
+        event.begin();
         Map<String, String> recommendations = new HashMap<>();
+        LazyBomRecommendations.Scan scan = lazily ? LazyBomRecommendations.scan(bomFile) : null;
         
+        ProjectModelResolver resolver = new ProjectModelResolver(project, inputs);
         DefaultModelBuildingRequest request = new DefaultModelBuildingRequest();
-        request.setModelResolver(new ProjectModelResolver(project));
-        request.setModelSource(new SimpleModelSource(new FileInputStream(bomFile)));
+        request.setModelResolver(resolver);
+        request.setModelSource(new SimpleModelSource(scan != null ? scan.strippedPom() : new FileInputStream(bomFile)));
         request.setSystemProperties(System.getProperties());
         
         DefaultModelBuilder modelBuilder = new DefaultModelBuilderFactory().newInstance();
-        modelBuilder.setModelInterpolator(new ProjectPropertiesModelInterpolator(project));
+        ProjectPropertiesModelInterpolator interpolator = new ProjectPropertiesModelInterpolator(project, inputs);
+        modelBuilder.setModelInterpolator(interpolator);
         
         ModelBuildingResult result = modelBuilder.build(request);
         reasons.add("nebula.dependency-recommender uses mavenBom: " + result.getEffectiveModel().getId());
@@ -293,7 +524,31 @@ public abstract class BomResolverService implements BuildService<BuildServicePar
                 recommendations.put(d.getGroupId() + ":" + d.getArtifactId(), d.getVersion());
             }
         }
+        int entries = recommendations.size();
+        
+        if (scan != null) {
+            entries += scan.size();
+            StringSearchInterpolator versions = new StringSearchInterpolator();
+            for (ValueSource source : interpolator.createValueSources(model, null, request, problem -> { })) {
+                versions.addValueSource(source);
+            }
+            recommendations = LazyBomRecommendations.of(scan, recommendations, raw -> {
+                synchronized (versions) {
+                    try {
+                        return versions.interpolate(raw);
+                    } catch (InterpolationException e) {
+                        throw new IllegalStateException("Cannot interpolate " + raw + " in " + bomFile, e);
+                    }
+                }
+            });
+        }
         
+        if (event.shouldCommit()) {
+            event.file = bomFile.getPath();
+            event.entries = entries;
+            event.parentFetches = resolver.resolved;
+            event.commit();
+        }
         return recommendations;
     }
     
@@ -342,21 +597,37 @@ public abstract class BomResolverService implements BuildService<BuildServicePar
      */
     private static class ProjectModelResolver implements ModelResolver {
         private final Project project;
+        private final DaemonBomCache.Inputs inputs;
+        private int resolved;
         
-        public ProjectModelResolver(Project project) {
+        public ProjectModelResolver(Project project, DaemonBomCache.Inputs inputs) {
             this.project = project;
+            this.inputs = inputs;
         }
         
         @Override
         public ModelSource2 resolveModel(String groupId, String artifactId, String version) throws UnresolvableModelException {
+            ParentPomResolutionEvent event = new ParentPomResolutionEvent();
+            event.begin();
+            resolved++;
             String notation = groupId + ":" + artifactId + ":" + version + "@pom";
             org.gradle.api.artifacts.Dependency dependency = project.getDependencies().create(notation);
             Configuration configuration = project.getConfigurations().detachedConfiguration(dependency);
             try {
                 File file = configuration.getFiles().iterator().next();
-                return new SimpleModelSource(new FileInputStream(file));
+                if (inputs != null) {
+                    inputs.parents.put(groupId + ":" + artifactId + ":" + version, file);
+                }
+                ModelSource2 source = new SimpleModelSource(new FileInputStream(file));
+                event.resolved = true;
+                return source;
             } catch (Exception e) {
                 throw new UnresolvableModelException(e, groupId, artifactId, version);
+            } finally {
+                if (event.shouldCommit()) {
+                    event.coordinates = notation;
+                    event.commit();
+                }
             }
         }
 
@@ -402,9 +673,11 @@ public abstract class BomResolverService implements BuildService<BuildServicePar
      */
     private static class ProjectPropertiesModelInterpolator extends StringSearchModelInterpolator {
         private final Project project;
+        private final DaemonBomCache.Inputs inputs;
 
-        ProjectPropertiesModelInterpolator(Project project) {
+        ProjectPropertiesModelInterpolator(Project project, DaemonBomCache.Inputs inputs) {
             this.project = project;
+            this.inputs = inputs;
             setUrlNormalizer(new DefaultUrlNormalizer());
             setPathTranslator(new DefaultPathTranslator());
         }
@@ -414,7 +687,43 @@ public abstract class BomResolverService implements BuildService<BuildServicePar
             sources.addAll(super.createValueSources(model, projectDir, request, collector));
             sources.add(new SystemPropertiesValueSource(project.getProviders()));
             sources.add(new ProjectPropertiesValueSource(project.getProviders()));
-            return sources;
+            if (inputs == null) {
+                return sources;
+            }
+            List<ValueSource> recording = new ArrayList<>();
+            for (ValueSource source : sources) {
+                recording.add(new RecordingValueSource(source, inputs.expressions));
+            }
+            return recording;
+        }
+    }
+
+    /**
+     * Records the expressions looked up in another value source.
+     */
+    private static class RecordingValueSource implements ValueSource {
+        private final ValueSource delegate;
+        private final Set<String> expressions;
+
+        RecordingValueSource(ValueSource delegate, Set<String> expressions) {
+            this.delegate = delegate;
+            this.expressions = expressions;
+        }
+
+        @Override
+        public Object getValue(String expression) {
+            expressions.add(expression);
+            return delegate.getValue(expression);
+        }
+
+        @Override
+        public List<?> getFeedback() {
+            return delegate.getFeedback();
+        }
+
+        @Override
+        public void clearFeedback() {
+            delegate.clearFeedback();
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.service;
+
+import org.gradle.api.Project;
+import org.gradle.api.invocation.Gradle;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Shares parsed BOMs between the builds of a composite build, each of which has a {@link BomResolverService} of its
+ * own. Every build resolves its BOM files with its own repositories and substitutions, and the tables parsed from them
+ * are shared by content hash, and reused as long as the properties their interpolation looked up have the same values
+ * in the build that asks for them.
+ *
+ * <p>The state of a build tree is keyed by the Gradle instance of its root build and dropped with it.</p>
+ *
+ * @since 13.2.0
+ */
+final class CompositeBomTables {
+    private static final Map<Gradle, CompositeBomTables> BUILD_TREES = new WeakHashMap<>();
+
+    // unbounded, because the tables do not outlive the build tree
+    private final DaemonBomCache tables = new DaemonBomCache(Integer.MAX_VALUE);
+
+    /**
+     * @return the shared state of the build tree of a project, or <code>null</code> if its build is not part of a
+     * composite build
+     */
+    static CompositeBomTables of(Project project) {
+        Gradle gradle = project.getGradle();
+        if (gradle.getParent() == null && gradle.getIncludedBuilds().isEmpty()) {
+            return null;
+        }
+        Gradle root = gradle;
+        while (root.getParent() != null) {
+            root = root.getParent();
+        }
+        synchronized (BUILD_TREES) {
+            return BUILD_TREES.computeIfAbsent(root, r -> new CompositeBomTables());
+        }
+    }
+
+    DaemonBomCache getTables() {
+        return tables;
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.service;
+
+import org.gradle.api.provider.ProviderFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Keeps parsed BOM tables for the lifetime of the Gradle daemon, so that the next build with the same BOMs does not
+ * parse them again, unlike the {@link BomResolverService} which is discarded with its build.
+ *
+ * <p>Tables are keyed by the SHA-256 of the BOM, which is only computed again when the size or modification time of
+ * the file changes. Since the same BOM may be requested by a build with other repositories, a table records the
+ * coordinates and SHA-256 of the parent POMs and imported BOMs it was built from, and is only reused if the requesting
+ * build resolves each of them to the same content. It is also only reused if every property that its interpolation
+ * looked up still has the same system or Gradle property value. The cache holds at
+ * most {@value #DEFAULT_MAX_ENTRIES} recommendations by default, evicting the least recently used tables first, and
+ * tables are softly referenced so that the garbage collector can drop them under heap pressure. The bound is set in
+ * recommendations, or turned off with 0, through the {@value #MAX_ENTRIES_PROPERTY} system property of the daemon.</p>
+ *
+ * @since 13.2.0
+ */
+final class DaemonBomCache {
+    static final String MAX_ENTRIES_PROPERTY = "nebula.dependency-recommender.daemonBomCache.maxEntries";
+    static final int DEFAULT_MAX_ENTRIES = 500_000;
+
+    private static final DaemonBomCache INSTANCE = new DaemonBomCache(Integer.getInteger(MAX_ENTRIES_PROPERTY, DEFAULT_MAX_ENTRIES));
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, SoftReference<Table>> tables = new LinkedHashMap<>(16, 0.75f, true);
+    // sizes are kept apart so that the bound holds whether or not the tables were collected
+    private final Map<String, Integer> sizes = new HashMap<>();
+    private final ConcurrentHashMap<String, Stamp> hashes = new ConcurrentHashMap<>();
+    private long entries;
+
+    DaemonBomCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    static DaemonBomCache getInstance() {
+        return INSTANCE;
+    }
+
+    boolean isEnabled() {
+        return maxEntries > 0;
+    }
+
+    /**
+     * @param parents resolves the coordinates of a parent POM or imported BOM in the requesting build, or returns
+     * <code>null</code> if it cannot be resolved
+     * @return the cached table of a BOM, if its inputs did not change since it was parsed, or <code>null</code>
+     */
+    Table get(File bomFile, ProviderFactory providers, Function<String, File> parents) throws IOException {
+        String hash = hash(bomFile);
+        Table table;
+        synchronized (this) {
+            SoftReference<Table> reference = tables.get(hash);
+            table = reference != null ? reference.get() : null;
+            if (table == null) {
+                if (reference != null) {
+                    remove(hash);
+                }
+                return null;
+            }
+        }
+        // resolving the parents may take a while, and must not hold up the lookups of other builds
+        return isCurrent(table, providers, parents) ? table : null;
+    }
+
+    private boolean isCurrent(Table table, ProviderFactory providers, Function<String, File> parents) throws IOException {
+        for (Map.Entry<String, String> parent : table.parents.entrySet()) {
+            File file = parents.apply(parent.getKey());
+            if (file == null || !parent.getValue().equals(hash(file))) {
+                return false;
+            }
+        }
+        for (Map.Entry<String, String> property : table.properties.entrySet()) {
+            if (!property.getValue().equals(externalValue(providers, property.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    synchronized void put(File bomFile, Table table) throws IOException {
+        if (table.recommendations.size() > maxEntries) {
+            return;
+        }
+        String hash = hash(bomFile);
+        remove(hash);
+        tables.put(hash, new SoftReference<>(table));
+        sizes.put(hash, table.recommendations.size());
+        entries += table.recommendations.size();
+        Iterator<Map.Entry<String, SoftReference<Table>>> eldest = tables.entrySet().iterator();
+        while (entries > maxEntries && eldest.hasNext()) {
+            String evicted = eldest.next().getKey();
+            eldest.remove();
+            entries -= sizes.remove(evicted);
+        }
+    }
+
+    private void remove(String hash) {
+        tables.remove(hash);
+        Integer removed = sizes.remove(hash);
+        if (removed != null) {
+            entries -= removed;
+        }
+    }
+
+    private String hash(File file) throws IOException {
+        Stamp stamp = Stamp.of(file);
+        Stamp known = hashes.get(file.getAbsolutePath());
+        if (known != null && known.equals(stamp)) {
+            return known.hash;
+        }
+        stamp.hash = sha256(file);
+        hashes.put(file.getAbsolutePath(), stamp);
+        return stamp.hash;
+    }
+
+    private static String sha256(File file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[8192];
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * @return the value of a property outside of the BOM and its parents that interpolation may have used
+     */
+    static String externalValue(ProviderFactory providers, String expression) {
+        return providers.systemProperty(expression).getOrNull() + "\u0000" + providers.gradleProperty(expression).getOrNull();
+    }
+
+    /**
+     * What a BOM was parsed from, beyond its own content, collected while it is parsed.
+     */
+    static final class Inputs {
+        final Set<String> expressions = Collections.synchronizedSet(new HashSet<>());
+        // the coordinates of the parent POMs and imported BOMs, and the files they resolved to
+        final Map<String, File> parents = Collections.synchronizedMap(new HashMap<>());
+    }
+
+    /**
+     * A parsed BOM with what it was parsed from.
+     */
+    static final class Table {
+        final Map<String, String> recommendations;
+        final Set<String> reasons;
+        private final Map<String, String> properties;
+        private final Map<String, String> parents;
+
+        Table(Map<String, String> recommendations, Set<String> reasons, Inputs inputs, ProviderFactory providers) throws IOException {
+            this.recommendations = Collections.unmodifiableMap(new HashMap<>(recommendations));
+            this.reasons = Collections.unmodifiableSet(new HashSet<>(reasons));
+            this.properties = new HashMap<>();
+            synchronized (inputs.expressions) {
+                for (String expression : inputs.expressions) {
+                    properties.put(expression, externalValue(providers, expression));
+                }
+            }
+            this.parents = new HashMap<>();
+            synchronized (inputs.parents) {
+                for (Map.Entry<String, File> parent : inputs.parents.entrySet()) {
+                    parents.put(parent.getKey(), sha256(parent.getValue()));
+                }
+            }
+        }
+    }
+
+    private static final class Stamp {
+        private final long size;
+        private final long lastModified;
+        private String hash;
+
+        private Stamp(long size, long lastModified) {
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        static Stamp of(File file) throws IOException {
+            if (!file.isFile()) {
+                return new Stamp(-1, -1);
+            }
+            return new Stamp(Files.size(file.toPath()), Files.getLastModifiedTime(file.toPath()).toMillis());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Stamp)) {
+                return false;
+            }
+            Stamp other = (Stamp) o;
+            return size == other.size && lastModified == other.lastModified;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(size, lastModified);
+        }
+    }
+}
@@ -0,0 +1,533 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * The recommendations of a BOM whose own managed dependencies are decoded when they are first looked up rather than
+ * when the BOM is parsed.
+ *
+ * <p>{@link #scan(File)} reads the BOM and indexes its <code>dependencyManagement</code> entries by the hash of their
+ * coordinates and their offset, and strips them from the POM. Only the bytes from the first to the last indexed entry
+ * are kept, on the heap, so that no mapping or handle of the file in the Gradle cache outlives the scan. Maven builds the effective model of what is
+ * left, which yields the entries of parents and imported BOMs, entries whose coordinates are interpolated, and the
+ * properties that versions are interpolated with. A lookup binary searches the hashes, reads the few bytes of the
+ * matching entry, and interpolates and caches its version. The BOM's own entries win over the others, and later
+ * duplicates over earlier ones, as when the whole model is built.</p>
+ *
+ * <p>Only enumerating the recommendations, e.g. to snapshot or compile them, decodes every entry.</p>
+ *
+ * @since 13.2.0
+ */
+final class LazyBomRecommendations extends AbstractMap<String, String> {
+    private static final List<String> ENTRY_PATH = Arrays.asList("project", "dependencyManagement", "dependencies");
+
+    private final ByteBuffer entries;
+    private final int[] hashes;
+    private final int[] offsets;
+    private final Map<String, String> built;
+    private final UnaryOperator<String> interpolator;
+    private final ConcurrentHashMap<String, String> decoded = new ConcurrentHashMap<>();
+    private volatile Map<String, String> all;
+
+    private LazyBomRecommendations(Scan scan, Map<String, String> built, UnaryOperator<String> interpolator) {
+        this.entries = scan.entries;
+        this.hashes = scan.hashes;
+        this.offsets = scan.offsets;
+        this.built = built;
+        this.interpolator = interpolator;
+    }
+
+    /**
+     * Indexes the managed dependencies of a BOM.
+     *
+     * @return the index, or <code>null</code> if the BOM uses something the index does not support, such as profiles
+     * or an encoding other than UTF-8, and has to be parsed in full
+     */
+    static Scan scan(File bomFile) throws IOException {
+        ByteBuffer pom = ByteBuffer.wrap(Files.readAllBytes(bomFile.toPath()));
+        Tokens tokens = new Tokens(pom, 0);
+        if (!tokens.isUtf8()) {
+            return null;
+        }
+        try {
+            List<String> path = new ArrayList<>();
+            List<int[]> indexed = new ArrayList<>();
+            ByteArrayOutputStream stripped = new ByteArrayOutputStream();
+            int copied = 0;
+            int lastEnd = 0;
+            while (tokens.next() != Tokens.EOF) {
+                if (tokens.type == Tokens.END) {
+                    if (path.isEmpty() || !path.remove(path.size() - 1).equals(tokens.name)) {
+                        return null;
+                    }
+                } else if (path.size() == 1 && tokens.name.equals("profiles")) {
+                    // profiles may manage dependencies depending on their activation
+                    return null;
+                } else if (tokens.type == Tokens.START && path.equals(ENTRY_PATH) && tokens.name.equals("dependency")) {
+                    ManagedDependency entry = readEntry(tokens);
+                    if (entry.isIndexable()) {
+                        lastEnd = entry.end;
+                        indexed.add(new int[]{(entry.group + ":" + entry.artifact).hashCode(), entry.start});
+                        write(stripped, pom, copied, entry.start);
+                        copied = entry.end;
+                    }
+                } else if (tokens.type == Tokens.START) {
+                    path.add(tokens.name);
+                }
+            }
+            write(stripped, pom, copied, pom.limit());
+
+            // ordered by hash, and by offset among equal hashes so that the last duplicate can win
+            indexed.sort((a, b) -> a[0] != b[0] ? Integer.compare(a[0], b[0]) : Integer.compare(a[1], b[1]));
+            int[] hashes = new int[indexed.size()];
+            int[] offsets = new int[indexed.size()];
+            int first = indexed.isEmpty() ? 0 : Integer.MAX_VALUE;
+            for (int i = 0; i < hashes.length; i++) {
+                hashes[i] = indexed.get(i)[0];
+                offsets[i] = indexed.get(i)[1];
+                first = Math.min(first, offsets[i]);
+            }
+            // offsets are relative to the first indexed entry, which the kept range starts at
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] -= first;
+            }
+            byte[] entries = new byte[Math.max(0, lastEnd - first)];
+            pom.position(first);
+            pom.get(entries);
+            return new Scan(ByteBuffer.wrap(entries), hashes, offsets, stripped.toByteArray());
+        } catch (MalformedPomException e) {
+            // left for Maven to report
+            return null;
+        }
+    }
+
+    private static void write(ByteArrayOutputStream out, ByteBuffer pom, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = pom.get(from + i);
+        }
+        out.write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Reads the entry whose start tag the tokens are at, leaving them at its end tag.
+     */
+    private static ManagedDependency readEntry(Tokens tokens) throws MalformedPomException {
+        ManagedDependency entry = new ManagedDependency(tokens.start);
+        int depth = 0;
+        String child = null;
+        int text = -1;
+        while (true) {
+            int type = tokens.next();
+            if (type == Tokens.EOF) {
+                throw new MalformedPomException();
+            } else if (type == Tokens.EMPTY) {
+                if (depth == 0) {
+                    entry.complex |= ManagedDependency.isCoordinate(tokens.name);
+                }
+            } else if (type == Tokens.START) {
+                if (depth == 0) {
+                    child = tokens.name;
+                    text = tokens.end;
+                }
+                depth++;
+            } else if (depth == 0) {
+                entry.end = tokens.end;
+                return entry;
+            } else if (--depth == 0) {
+                if (tokens.indexOf('<', text) == tokens.start) {
+                    entry.set(child, tokens.text(text, tokens.start));
+                } else {
+                    // comments, CDATA or markup within the value
+                    entry.complex |= ManagedDependency.isCoordinate(child);
+                }
+            }
+        }
+    }
+
+    static Map<String, String> of(Scan scan, Map<String, String> built, UnaryOperator<String> interpolator) {
+        return new LazyBomRecommendations(scan, built, interpolator);
+    }
+
+    /**
+     * Layers the recommendations of several BOMs without copying them, later BOMs winning.
+     */
+    static Map<String, String> layer(List<Map<String, String>> boms) {
+        if (boms.size() == 1) {
+            return boms.get(0);
+        }
+        return new AbstractMap<String, String>() {
+            @Override
+            public String get(Object key) {
+                for (int i = boms.size() - 1; i >= 0; i--) {
+                    String version = boms.get(i).get(key);
+                    if (version != null) {
+                        return version;
+                    }
+                }
+                return null;
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return get(key) != null;
+            }
+
+            @Override
+            public Set<Map.Entry<String, String>> entrySet() {
+                Map<String, String> all = new HashMap<>();
+                for (Map<String, String> bom : boms) {
+                    all.putAll(bom);
+                }
+                return Collections.unmodifiableMap(all).entrySet();
+            }
+        };
+    }
+
+    @Override
+    public String get(Object key) {
+        if (!(key instanceof String)) {
+            return null;
+        }
+        String version = decoded.get(key);
+        if (version != null) {
+            return version;
+        }
+        int hash = key.hashCode();
+        int i = Arrays.binarySearch(hashes, hash);
+        if (i >= 0) {
+            while (i > 0 && hashes[i - 1] == hash) {
+                i--;
+            }
+            String raw = null;
+            for (; i < hashes.length && hashes[i] == hash; i++) {
+                ManagedDependency entry = entryAt(offsets[i]);
+                if (key.equals(entry.group + ":" + entry.artifact)) {
+                    raw = entry.version;
+                }
+            }
+            if (raw != null) {
+                version = interpolate(raw);
+                decoded.putIfAbsent((String) key, version);
+                return version;
+            }
+        }
+        return built.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public Set<Map.Entry<String, String>> entrySet() {
+        Map<String, String> current = all;
+        if (current == null) {
+            Map<String, String> versions = new HashMap<>(built);
+            int[] inFileOrder = offsets.clone();
+            Arrays.sort(inFileOrder);
+            for (int offset : inFileOrder) {
+                ManagedDependency entry = entryAt(offset);
+                versions.put(entry.group + ":" + entry.artifact, interpolate(entry.version));
+            }
+            current = Collections.unmodifiableMap(versions);
+            all = current;
+        }
+        return current.entrySet();
+    }
+
+    private String interpolate(String raw) {
+        return raw.contains("${") ? interpolator.apply(raw) : raw;
+    }
+
+    private ManagedDependency entryAt(int offset) {
+        try {
+            Tokens tokens = new Tokens(entries, offset);
+            tokens.next();
+            return readEntry(tokens);
+        } catch (MalformedPomException e) {
+            throw new UncheckedIOException(new IOException("The indexed entries of the BOM could not be read", e));
+        }
+    }
+
+    /**
+     * The index of a BOM and the range of the BOM holding the entries it indexes, and the BOM without those entries,
+     * for Maven to build.
+     */
+    static final class Scan {
+        private final ByteBuffer entries;
+        private final int[] hashes;
+        private final int[] offsets;
+        private final byte[] stripped;
+
+        private Scan(ByteBuffer entries, int[] hashes, int[] offsets, byte[] stripped) {
+            this.entries = entries;
+            this.hashes = hashes;
+            this.offsets = offsets;
+            this.stripped = stripped;
+        }
+
+        InputStream strippedPom() {
+            return new ByteArrayInputStream(stripped);
+        }
+
+        int size() {
+            return hashes.length;
+        }
+    }
+
+    private static final class ManagedDependency {
+        private final int start;
+        private int end;
+        private String group;
+        private String artifact;
+        private String version;
+        private String scope;
+        private boolean complex;
+
+        ManagedDependency(int start) {
+            this.start = start;
+        }
+
+        static boolean isCoordinate(String element) {
+            return element.equals("groupId") || element.equals("artifactId") || element.equals("version") || element.equals("scope");
+        }
+
+        void set(String element, String value) {
+            switch (element) {
+                case "groupId":
+                    group = value;
+                    break;
+                case "artifactId":
+                    artifact = value;
+                    break;
+                case "version":
+                    version = value;
+                    break;
+                case "scope":
+                    scope = value;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        /**
+         * Imports, entries without a version and entries whose coordinates are interpolated are left to Maven.
+         */
+        boolean isIndexable() {
+            return !complex && group != null && artifact != null && version != null && !"import".equals(scope) &&
+                    !group.contains("${") && !artifact.contains("${");
+        }
+    }
+
+    /**
+     * A minimal reader of the tags of a POM, skipping comments, CDATA sections, processing instructions and
+     * declarations.
+     */
+    private static final class Tokens {
+        static final int EOF = 0;
+        static final int START = 1;
+        static final int END = 2;
+        static final int EMPTY = 3;
+
+        private final ByteBuffer pom;
+        private int position;
+        int type;
+        String name;
+        int start;
+        int end;
+
+        Tokens(ByteBuffer pom, int position) {
+            this.pom = pom;
+            this.position = position;
+        }
+
+        boolean isUtf8() {
+            if (matches(0, "<?xml")) {
+                int declarationEnd = indexOf('>', 0);
+                if (declarationEnd < 0) {
+                    return false;
+                }
+                String declaration = ascii(0, declarationEnd).toLowerCase(Locale.ROOT);
+                int encoding = declaration.indexOf("encoding");
+                return encoding < 0 || declaration.indexOf("utf-8", encoding) >= 0;
+            }
+            return true;
+        }
+
+        int next() throws MalformedPomException {
+            while (true) {
+                int open = indexOf('<', position);
+                if (open < 0) {
+                    return type = EOF;
+                }
+                if (matches(open, "<!--")) {
+                    position = after(open + 4, "-->");
+                } else if (matches(open, "<![CDATA[")) {
+                    position = after(open + 9, "]]>");
+                } else if (matches(open, "<?")) {
+                    position = after(open + 2, "?>");
+                } else if (matches(open, "<!")) {
+                    position = after(open + 2, ">");
+                } else {
+                    boolean closing = open + 1 < pom.limit() && pom.get(open + 1) == '/';
+                    int nameStart = closing ? open + 2 : open + 1;
+                    int nameEnd = nameStart;
+                    while (nameEnd < pom.limit() && !isNameEnd(pom.get(nameEnd))) {
+                        nameEnd++;
+                    }
+                    start = open;
+                    end = after(nameEnd, ">");
+                    name = ascii(nameStart, nameEnd);
+                    position = end;
+                    return type = closing ? END : pom.get(end - 2) == '/' ? EMPTY : START;
+                }
+            }
+        }
+
+        int indexOf(char c, int from) {
+            for (int i = from; i < pom.limit(); i++) {
+                if (pom.get(i) == c) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        String text(int from, int to) {
+            while (from < to && isWhitespace(pom.get(from))) {
+                from++;
+            }
+            while (to > from && isWhitespace(pom.get(to - 1))) {
+                to--;
+            }
+            byte[] bytes = new byte[to - from];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = pom.get(from + i);
+            }
+            String text = new String(bytes, StandardCharsets.UTF_8);
+            return text.indexOf('&') < 0 ? text : unescape(text);
+        }
+
+        private boolean matches(int at, String prefix) {
+            if (at + prefix.length() > pom.limit()) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length(); i++) {
+                if (pom.get(at + i) != prefix.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int after(int from, String terminator) throws MalformedPomException {
+            for (int i = from; i + terminator.length() <= pom.limit(); i++) {
+                if (matches(i, terminator)) {
+                    return i + terminator.length();
+                }
+            }
+            throw new MalformedPomException();
+        }
+
+        private String ascii(int from, int to) {
+            char[] chars = new char[to - from];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = (char) (pom.get(from + i) & 0xFF);
+            }
+            return new String(chars);
+        }
+
+        private static boolean isNameEnd(byte b) {
+            return b == '>' || b == '/' || isWhitespace(b);
+        }
+
+        private static boolean isWhitespace(byte b) {
+            return b == ' ' || b == '\t' || b == '\r' || b == '\n';
+        }
+
+        private static String unescape(String text) {
+            StringBuilder unescaped = new StringBuilder(text.length());
+            int i = 0;
+            while (i < text.length()) {
+                char c = text.charAt(i);
+                int semicolon = c == '&' ? text.indexOf(';', i) : -1;
+                if (semicolon < 0) {
+                    unescaped.append(c);
+                    i++;
+                    continue;
+                }
+                String reference = text.substring(i + 1, semicolon);
+                switch (reference) {
+                    case "lt":
+                        unescaped.append('<');
+                        break;
+                    case "gt":
+                        unescaped.append('>');
+                        break;
+                    case "amp":
+                        unescaped.append('&');
+                        break;
+                    case "quot":
+                        unescaped.append('"');
+                        break;
+                    case "apos":
+                        unescaped.append('\'');
+                        break;
+                    default:
+                        if (reference.startsWith("#x")) {
+                            unescaped.appendCodePoint(Integer.parseInt(reference.substring(2), 16));
+                        } else if (reference.startsWith("#")) {
+                            unescaped.appendCodePoint(Integer.parseInt(reference.substring(1)));
+                        } else {
+                            unescaped.append(text, i, semicolon + 1);
+                        }
+                }
+                i = semicolon + 1;
+            }
+            return unescaped.toString();
+        }
+    }
+
+    private static final class MalformedPomException extends Exception {
+        MalformedPomException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.service;
+
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.Dependency;
+import org.gradle.api.artifacts.DependencyArtifact;
+import org.gradle.api.artifacts.ModuleDependency;
+import org.gradle.api.artifacts.ResolvedArtifact;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A Gradle build service that resolves and remembers the artifacts behind module-based recommendation sources,
+ * such as {@code propertiesFile(module: ...)}, {@code ivyXml(module: ...)} or {@code dependencyLock(module: ...)}.
+ *
+ * <p>Each distinct dependency notation is resolved once per build through a detached configuration, and the
+ * resolved file is shared by every provider and project that refers to the same notation.</p>
+ *
+ * <p>Resolution is expected to happen during the configuration phase through
+ * {@link netflix.nebula.dependency.recommender.util.BomResolutionUtil#eagerlyResolveBoms}, so that reading a source
+ * from a dependency resolution callback only ever hits the cache.</p>
+ *
+ * @since 13.2.0
+ */
+public abstract class ModuleSourceResolverService implements BuildService<BuildServiceParameters.None> {
+    public static final String NAME = "recommendationModuleSourceResolver";
+
+    private static final Logger logger = Logging.getLogger(ModuleSourceResolverService.class);
+
+    private final ConcurrentHashMap<String, File> resolvedFiles = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Object> locks = new ConcurrentHashMap<>();
+
+    /**
+     * Registers the service with the build, or returns the already registered instance.
+     *
+     * @param project any project of the build
+     * @return the shared service provider
+     */
+    public static Provider<ModuleSourceResolverService> register(Project project) {
+        return project.getGradle().getSharedServices().registerIfAbsent(NAME, ModuleSourceResolverService.class, spec -> {});
+    }
+
+    /**
+     * Returns the file for a module-based recommendation source, resolving it on first use.
+     *
+     * @param project the project whose repositories are used to resolve the module
+     * @param dependencyNotation any notation accepted by {@code project.dependencies.create}
+     * @return the resolved artifact file
+     */
+    public File resolve(Project project, Object dependencyNotation) {
+        Dependency dependency = project.getDependencies().create(dependencyNotation);
+        String key = createKey(dependency);
+        File cached = resolvedFiles.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        synchronized (locks.computeIfAbsent(key, k -> new Object())) {
+            cached = resolvedFiles.get(key);
+            if (cached != null) {
+                return cached;
+            }
+
+            // create a temporary configuration to resolve the file
+            Configuration conf = project.getConfigurations().detachedConfiguration(dependency);
+            ResolvedArtifact artifact = conf.getResolvedConfiguration().getResolvedArtifacts().iterator().next();
+            logger.info("Selected recommendation source " + artifact.getId() + ", you requested " + dependencyNotation);
+
+            resolvedFiles.put(key, artifact.getFile());
+            return artifact.getFile();
+        }
+    }
+
+    /**
+     * Creates a cache key from the module coordinates and the requested artifact type and classifier.
+     *
+     * @param dependency the dependency describing the recommendation source
+     * @return a key identifying the artifact independently of the notation style used to declare it
+     */
+    private static String createKey(Dependency dependency) {
+        StringBuilder key = new StringBuilder()
+                .append(dependency.getGroup()).append(":")
+                .append(dependency.getName()).append(":")
+                .append(dependency.getVersion());
+        if (dependency instanceof ModuleDependency) {
+            for (DependencyArtifact artifact : ((ModuleDependency) dependency).getArtifacts()) {
+                key.append(";").append(artifact.getClassifier()).append("@").append(artifact.getExtension());
+            }
+        }
+        return key.toString();
+    }
+}
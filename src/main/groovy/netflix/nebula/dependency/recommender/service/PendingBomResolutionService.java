@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.service;
+
+import netflix.nebula.dependency.recommender.provider.RecommendationProviderContainer;
+import org.gradle.api.Project;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A Gradle build service that holds the projects waiting for the batched BOM resolution of their build, see
+ * {@link netflix.nebula.dependency.recommender.util.BomResolutionUtil#eagerlyResolveBomsWhenProjectsEvaluated}.
+ *
+ * <p>The projects are only held for the duration of the build, and dropped with the service even if the build never
+ * gets to evaluate all of its projects.</p>
+ *
+ * @since 13.2.0
+ */
+public abstract class PendingBomResolutionService implements BuildService<BuildServiceParameters.None>, AutoCloseable {
+    public static final String NAME = "pendingBomResolution";
+
+    private final Map<String, List<PendingProject>> pending = new LinkedHashMap<>();
+    private boolean scheduled;
+
+    /**
+     * Registers the service with the build, or returns the already registered instance.
+     *
+     * @param project any project of the build
+     * @return the shared service provider
+     */
+    public static Provider<PendingBomResolutionService> register(Project project) {
+        return project.getGradle().getSharedServices().registerIfAbsent(NAME, PendingBomResolutionService.class, spec -> {});
+    }
+
+    /**
+     * Records a project for the batched resolution of a BOM configuration.
+     *
+     * @return whether this is the first project recorded in the build, in which case the caller schedules the resolution
+     */
+    public synchronized boolean record(String bomConfigurationName, Project project, RecommendationProviderContainer container) {
+        List<PendingProject> projects = pending.computeIfAbsent(bomConfigurationName, name -> new ArrayList<>());
+        for (PendingProject recorded : projects) {
+            // the plugin records a subproject both from its own project and from its parent
+            if (recorded.project == project && recorded.container == container) {
+                return false;
+            }
+        }
+        projects.add(new PendingProject(project, container));
+        boolean first = !scheduled;
+        scheduled = true;
+        return first;
+    }
+
+    /**
+     * @return the recorded projects by BOM configuration name, which are no longer held by the service
+     */
+    public synchronized Map<String, List<PendingProject>> takeAll() {
+        Map<String, List<PendingProject>> projects = new LinkedHashMap<>(pending);
+        pending.clear();
+        return Collections.unmodifiableMap(projects);
+    }
+
+    @Override
+    public synchronized void close() {
+        pending.clear();
+    }
+
+    public static final class PendingProject {
+        private final Project project;
+        private final RecommendationProviderContainer container;
+
+        private PendingProject(Project project, RecommendationProviderContainer container) {
+            this.project = project;
+            this.container = container;
+        }
+
+        public Project getProject() {
+            return project;
+        }
+
+        public RecommendationProviderContainer getContainer() {
+            return container;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.service;
+
+import netflix.nebula.dependency.recommender.ModuleNotationParser;
+import netflix.nebula.dependency.recommender.provider.RecommendationProviderContainer;
+import netflix.nebula.dependency.recommender.provider.RecommendationSnapshot;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.Dependency;
+import org.gradle.api.artifacts.ExternalModuleDependency;
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
+import org.gradle.api.artifacts.ProjectDependency;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+import javax.annotation.Nullable;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A Gradle build service through which projects share their recommendations and dependency declarations, so that
+ * the plugin does not reach into other projects when it runs in isolated projects mode.
+ *
+ * <p>Each project publishes itself under its path once it has been evaluated: its recommendations frozen into a
+ * {@link RecommendationSnapshot}, its reasons, and the dependencies declared in each of its configurations. A project
+ * then looks up the recommendations of its ancestors, and the first-order dependencies of the projects it depends on,
+ * by path. Only these frozen values are shared, so another project is never read while it is being configured.
+ * A project that has not been evaluated yet has not published anything, and is skipped by lookups.</p>
+ *
+ * <p>Recommendations that cannot be listed up front, such as a {@code map} with wildcards or a custom provider, are
+ * looked up from the container of the published project instead. That container is complete by the time the project
+ * publishes it.</p>
+ *
+ * @since 13.2.0
+ */
+public abstract class ProjectRecommendationService implements BuildService<BuildServiceParameters.None> {
+    public static final String NAME = "projectRecommendations";
+
+    private final ConcurrentHashMap<String, PublishedProject> projects = new ConcurrentHashMap<>();
+
+    /**
+     * Registers the service with the build, or returns the already registered instance.
+     *
+     * @param project any project of the build
+     * @return the shared service provider
+     */
+    public static Provider<ProjectRecommendationService> register(Project project) {
+        return project.getGradle().getSharedServices().registerIfAbsent(NAME, ProjectRecommendationService.class, spec -> {});
+    }
+
+    /**
+     * Publishes the recommendations and dependency declarations of a project, as they are when this is called. A
+     * project publishes itself, once it has been evaluated.
+     *
+     * @param project the project to publish
+     * @param container the recommendation provider container of the project, or <code>null</code> if its
+     * recommendations are not looked up through this service
+     * @param bomConfigurationName the configuration holding the BOMs of the project, whose dependencies are published
+     * as they are declared
+     */
+    public void publish(Project project, @Nullable RecommendationProviderContainer container, String bomConfigurationName) {
+        RecommendationSnapshot recommendations = null;
+        RecommendationProviderContainer unlisted = null;
+        Set<String> reasons = Collections.emptySet();
+        if (container != null) {
+            reasons = Collections.unmodifiableSet(new LinkedHashSet<>(container.getReasons()));
+            Map<String, String> versions = container.getAllRecommendedVersions();
+            if (versions != null) {
+                recommendations = RecommendationSnapshot.of(versions, reasons);
+            } else {
+                unlisted = container;
+            }
+        }
+
+        Map<String, List<ModuleVersionIdentifier>> modules = new HashMap<>();
+        Map<String, List<Map.Entry<String, String>>> projectDependencies = new HashMap<>();
+        List<Dependency> bomDependencies = new ArrayList<>();
+        for (Configuration configuration : project.getConfigurations()) {
+            List<ModuleVersionIdentifier> declaredModules = new ArrayList<>();
+            List<Map.Entry<String, String>> declaredProjects = new ArrayList<>();
+            for (Dependency dependency : configuration.getAllDependencies()) {
+                if (dependency instanceof ExternalModuleDependency) {
+                    declaredModules.add(ModuleNotationParser.newId(dependency.getGroup(), dependency.getName(), dependency.getVersion()));
+                } else if (dependency instanceof ProjectDependency) {
+                    ProjectDependency projectDependency = (ProjectDependency) dependency;
+                    String targetConfiguration = projectDependency.getTargetConfiguration() == null
+                            ? Dependency.DEFAULT_CONFIGURATION
+                            : projectDependency.getTargetConfiguration();
+                    declaredProjects.add(new AbstractMap.SimpleImmutableEntry<>(projectDependency.getPath(), targetConfiguration));
+                }
+            }
+            modules.put(configuration.getName(), Collections.unmodifiableList(declaredModules));
+            projectDependencies.put(configuration.getName(), Collections.unmodifiableList(declaredProjects));
+            if (configuration.getName().equals(bomConfigurationName)) {
+                for (Dependency dependency : configuration.getDependencies()) {
+                    bomDependencies.add(dependency.copy());
+                }
+            }
+        }
+
+        projects.put(project.getPath(), new PublishedProject(recommendations, unlisted, reasons, modules,
+                projectDependencies, Collections.unmodifiableList(bomDependencies)));
+    }
+
+    /**
+     * Looks for a recommended version in a project and each of its ancestors in order until one is found or the root
+     * is reached. Projects that did not publish their recommendations are skipped.
+     *
+     * @return the recommended version or <code>null</code>
+     */
+    public String getRecommendedVersion(String path, String group, String name) {
+        for (String p = path; p != null; p = parentPath(p)) {
+            PublishedProject published = projects.get(p);
+            if (published != null) {
+                String version = published.getRecommendedVersion(group, name);
+                if (version != null) {
+                    return version;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Looks for recommendation reasons in a project and each of its ancestors in order until one is found or the
+     * root is reached.
+     */
+    public Set<String> getReasons(String path) {
+        for (String p = path; p != null; p = parentPath(p)) {
+            PublishedProject published = projects.get(p);
+            if (published != null && !published.reasons.isEmpty()) {
+                return published.reasons;
+            }
+        }
+        return Collections.emptySet();
+    }
+
+    /**
+     * Combines the recommendations published by a project and its ancestors, those of a project winning over those of
+     * its ancestors.
+     *
+     * @return the combined recommendations, or <code>null</code> if any of them cannot be listed
+     */
+    public RecommendationSnapshot getSnapshot(String path) {
+        List<RecommendationSnapshot> lineage = new ArrayList<>();
+        for (String p = path; p != null; p = parentPath(p)) {
+            PublishedProject published = projects.get(p);
+            if (published != null) {
+                if (published.unlisted != null) {
+                    return null;
+                }
+                if (published.recommendations != null) {
+                    lineage.add(0, published.recommendations);
+                }
+            }
+        }
+        Map<String, String> versions = new HashMap<>();
+        for (RecommendationSnapshot recommendations : lineage) {
+            versions.putAll(recommendations.getVersions());
+        }
+        return RecommendationSnapshot.of(versions, getReasons(path));
+    }
+
+    /**
+     * @return the external modules declared in a configuration of a project, including those of the configurations it
+     * extends, or none if the project or configuration is unknown
+     */
+    public List<ModuleVersionIdentifier> getModules(String path, String configurationName) {
+        PublishedProject published = projects.get(path);
+        List<ModuleVersionIdentifier> modules = published != null ? published.modules.get(configurationName) : null;
+        return modules != null ? modules : Collections.<ModuleVersionIdentifier>emptyList();
+    }
+
+    /**
+     * @return the projects a configuration of a project depends on, as the path of each project paired with the name
+     * of its configuration that is depended on, or none if the project or configuration is unknown
+     */
+    public List<Map.Entry<String, String>> getProjectDependencies(String path, String configurationName) {
+        PublishedProject published = projects.get(path);
+        List<Map.Entry<String, String>> dependencies = published != null ? published.projectDependencies.get(configurationName) : null;
+        return dependencies != null ? dependencies : Collections.<Map.Entry<String, String>>emptyList();
+    }
+
+    /**
+     * @return copies of the dependencies declared in the BOM configuration of a project, or none if the project is
+     * unknown; callers copy them again before adding them anywhere
+     */
+    public List<Dependency> getBomDependencies(String path) {
+        PublishedProject published = projects.get(path);
+        return published != null ? published.bomDependencies : Collections.<Dependency>emptyList();
+    }
+
+    /**
+     * @return the path of the parent of a project, or <code>null</code> for the root project
+     */
+    public static String parentPath(String path) {
+        if (path.equals(Project.PATH_SEPARATOR)) {
+            return null;
+        }
+        int separator = path.lastIndexOf(Project.PATH_SEPARATOR);
+        return separator <= 0 ? Project.PATH_SEPARATOR : path.substring(0, separator);
+    }
+
+    private static final class PublishedProject {
+        private final RecommendationSnapshot recommendations;
+        private final RecommendationProviderContainer unlisted;
+        private final Set<String> reasons;
+        private final Map<String, List<ModuleVersionIdentifier>> modules;
+        private final Map<String, List<Map.Entry<String, String>>> projectDependencies;
+        private final List<Dependency> bomDependencies;
+
+        private PublishedProject(RecommendationSnapshot recommendations, RecommendationProviderContainer unlisted,
+                                 Set<String> reasons, Map<String, List<ModuleVersionIdentifier>> modules,
+                                 Map<String, List<Map.Entry<String, String>>> projectDependencies,
+                                 List<Dependency> bomDependencies) {
+            this.recommendations = recommendations;
+            this.unlisted = unlisted;
+            this.reasons = reasons;
+            this.modules = modules;
+            this.projectDependencies = projectDependencies;
+            this.bomDependencies = bomDependencies;
+        }
+
+        String getRecommendedVersion(String group, String name) {
+            if (recommendations != null) {
+                return recommendations.getVersion(group, name);
+            }
+            return unlisted != null ? unlisted.getRecommendedVersion(group, name) : null;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.service;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import org.gradle.api.Project;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A Gradle build service that shares parsed non-BOM recommendation sources across all projects of a build.
+ *
+ * <p>Large builds commonly apply the same {@code propertiesFile}, {@code ivyXml} or {@code dependencyLock} source
+ * to every subproject. Without sharing, each project's provider parses its own copy of the source and holds its own
+ * table. This service keys parsed tables by the canonical identity of the source, so that every provider reading
+ * the same source shares a single immutable table.</p>
+ *
+ * <p>Source identities are built by {@link netflix.nebula.dependency.recommender.provider.FileBasedRecommendationProvider}
+ * from the parsing provider type and either the canonical file path plus a hash of its content (for files and
+ * resolved modules) or the URL of a remote source. The content hash of a file is remembered for the build together
+ * with its size and modification time, see {@link #fileIdentity(File)}.</p>
+ *
+ * <p>Thread-safe implementation using {@link ConcurrentHashMap} and per-key synchronization, so that a source is
+ * parsed once even when projects are configured in parallel.</p>
+ *
+ * @since 13.2.0
+ */
+public abstract class RecommendationSourceService implements BuildService<BuildServiceParameters.None> {
+    public static final String NAME = "recommendationSources";
+
+    private final ConcurrentHashMap<String, Object> tables = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Object> locks = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, FileStamp> fileStamps = new ConcurrentHashMap<>();
+
+    /**
+     * Registers the service with the build, or returns the already registered instance.
+     *
+     * @param project any project of the build
+     * @return the shared service provider
+     */
+    public static Provider<RecommendationSourceService> register(Project project) {
+        return project.getGradle().getSharedServices().registerIfAbsent(NAME, RecommendationSourceService.class, spec -> {});
+    }
+
+    /**
+     * Returns the parsed table for a source, parsing it only if no other provider has done so yet in this build.
+     *
+     * <p>The table returned by {@code parser} is shared between providers and must not be modified afterwards.</p>
+     *
+     * @param sourceKey the canonical identity of the source, including the type of table it is parsed into
+     * @param parser parses the source into an immutable table
+     * @param <T> the type of table
+     * @return the shared table
+     * @throws Exception if parsing fails; nothing is cached in that case
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getOrParse(String sourceKey, Callable<T> parser) throws Exception {
+        Object table = tables.get(sourceKey);
+        if (table != null) {
+            return (T) table;
+        }
+
+        synchronized (locks.computeIfAbsent(sourceKey, k -> new Object())) {
+            table = tables.get(sourceKey);
+            if (table == null) {
+                table = parser.call();
+                tables.put(sourceKey, table);
+            }
+            return (T) table;
+        }
+    }
+
+    /**
+     * Identifies a file by its canonical path and content hash. The hash is remembered together with the size and
+     * modification time of the file, and only computed again once either of them changes.
+     *
+     * @param file the recommendation source
+     * @return the identity of the file and its content
+     * @throws IOException if the file cannot be read
+     */
+    public String fileIdentity(File file) throws IOException {
+        String path = file.getCanonicalPath();
+        FileStamp stamp = new FileStamp(file.length(), file.lastModified());
+        FileStamp known = fileStamps.get(path);
+        if (known != null && known.matches(stamp)) {
+            return known.identity;
+        }
+        stamp.identity = "file:" + path + "@" + Files.asByteSource(file).hash(Hashing.sha256());
+        fileStamps.put(path, stamp);
+        return stamp.identity;
+    }
+
+    private static final class FileStamp {
+        private final long size;
+        private final long lastModified;
+        private String identity;
+
+        private FileStamp(long size, long lastModified) {
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        boolean matches(FileStamp other) {
+            return size == other.size && lastModified == other.lastModified;
+        }
+    }
+}
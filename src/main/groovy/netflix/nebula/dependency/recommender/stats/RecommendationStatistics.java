@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.stats;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Counters describing the recommendation work done for one project during a build. Every method is safe to call
+ * from concurrent resolutions.
+ *
+ * @since 13.2.0
+ */
+public final class RecommendationStatistics {
+    private final LongAdder bomCacheHits = new LongAdder();
+    private final LongAdder bomCacheMisses = new LongAdder();
+    private final LongAdder daemonBomCacheHits = new LongAdder();
+    private final LongAdder compositeBomCacheHits = new LongAdder();
+    private final LongAdder bomsParsed = new LongAdder();
+    private final LongAdder bomParseNanos = new LongAdder();
+    private final LongAdder sourcesParsed = new LongAdder();
+    private final LongAdder sourceParseNanos = new LongAdder();
+    private final LongAdder forcedModuleSkips = new LongAdder();
+    private final LongAdder dependencyCallbacks = new LongAdder();
+    private final LongAdder dependencyCallbackNanos = new LongAdder();
+    private final ConcurrentHashMap<String, ProviderCounters> providers = new ConcurrentHashMap<>();
+    private final List<LongSupplier> globEvaluations = new CopyOnWriteArrayList<>();
+
+    public void bomCacheHit() {
+        bomCacheHits.increment();
+    }
+
+    public void bomCacheMiss() {
+        bomCacheMisses.increment();
+    }
+
+    /**
+     * Counts a BOM that was not parsed because an earlier build in the same daemon parsed it from the same inputs.
+     */
+    public void daemonBomCacheHit() {
+        daemonBomCacheHits.increment();
+    }
+
+    /**
+     * Counts a BOM that was not parsed because another build of the same composite build parsed it from the same
+     * inputs.
+     */
+    public void compositeBomCacheHit() {
+        compositeBomCacheHits.increment();
+    }
+
+    public void bomParsed(long nanos) {
+        bomsParsed.increment();
+        bomParseNanos.add(nanos);
+    }
+
+    /**
+     * Counts a recommendation source other than a BOM, such as a properties file, that was read and parsed.
+     */
+    public void sourceParsed(long nanos) {
+        sourcesParsed.increment();
+        sourceParseNanos.add(nanos);
+    }
+
+    public void providerPolled(String provider, boolean hit) {
+        ProviderCounters counters = providers.computeIfAbsent(provider, name -> new ProviderCounters());
+        counters.polls.increment();
+        if (hit) {
+            counters.hits.increment();
+        }
+    }
+
+    public void providerPolled(String provider, long polls, long hits) {
+        ProviderCounters counters = providers.computeIfAbsent(provider, name -> new ProviderCounters());
+        counters.polls.add(polls);
+        counters.hits.add(hits);
+    }
+
+    /**
+     * Adds a source of glob evaluations, such as a provider that matches coordinates against wildcards. Sources are
+     * read when the statistics are reported rather than on every evaluation.
+     */
+    public void countGlobEvaluations(LongSupplier source) {
+        globEvaluations.add(source);
+    }
+
+    public void forcedModuleSkipped() {
+        forcedModuleSkips.increment();
+    }
+
+    public void dependencyCallback(long nanos) {
+        dependencyCallbacks.increment();
+        dependencyCallbackNanos.add(nanos);
+    }
+
+    public long getGlobEvaluations() {
+        long total = 0;
+        for (LongSupplier source : globEvaluations) {
+            total += source.getAsLong();
+        }
+        return total;
+    }
+
+    /**
+     * @return the counters as nested maps of names to numbers, ordered for reading, with times in milliseconds
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("bomCacheHits", bomCacheHits.sum());
+        map.put("bomCacheMisses", bomCacheMisses.sum());
+        map.put("daemonBomCacheHits", daemonBomCacheHits.sum());
+        map.put("compositeBomCacheHits", compositeBomCacheHits.sum());
+        map.put("bomsParsed", bomsParsed.sum());
+        map.put("bomParseMillis", TimeUnit.NANOSECONDS.toMillis(bomParseNanos.sum()));
+        map.put("sourcesParsed", sourcesParsed.sum());
+        map.put("sourceParseMillis", TimeUnit.NANOSECONDS.toMillis(sourceParseNanos.sum()));
+        map.put("globEvaluations", getGlobEvaluations());
+        map.put("forcedModuleSkips", forcedModuleSkips.sum());
+        map.put("dependencyCallbacks", dependencyCallbacks.sum());
+        map.put("dependencyCallbackMillis", TimeUnit.NANOSECONDS.toMillis(dependencyCallbackNanos.sum()));
+        Map<String, Object> polls = new TreeMap<>();
+        providers.forEach((name, counters) -> {
+            Map<String, Object> provider = new LinkedHashMap<>();
+            long count = counters.polls.sum();
+            long hits = counters.hits.sum();
+            provider.put("polls", count);
+            provider.put("hits", hits);
+            provider.put("hitRatio", count == 0 ? 0.0 : (double) hits / count);
+            polls.put(name, provider);
+        });
+        map.put("providers", polls);
+        return map;
+    }
+
+    /**
+     * @return a few lines summarizing the counters, for the console
+     */
+    public List<String> describe() {
+        Map<String, Object> map = toMap();
+        List<String> lines = new ArrayList<>();
+        lines.add("BOM cache: " + map.get("bomCacheHits") + " hits, " + map.get("bomCacheMisses") + " misses, " +
+                map.get("daemonBomCacheHits") + " BOMs reused from an earlier build, " +
+                map.get("compositeBomCacheHits") + " from another build of the composite");
+        lines.add("BOMs parsed: " + map.get("bomsParsed") + " in " + map.get("bomParseMillis") + " ms");
+        lines.add("Other sources parsed: " + map.get("sourcesParsed") + " in " + map.get("sourceParseMillis") + " ms");
+        lines.add("eachDependency callbacks: " + map.get("dependencyCallbacks") + " in " + map.get("dependencyCallbackMillis") +
+                " ms, " + map.get("forcedModuleSkips") + " skipped for forced modules");
+        lines.add("Glob evaluations: " + map.get("globEvaluations"));
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Object>> polls = (Map<String, Map<String, Object>>) map.get("providers");
+        polls.forEach((name, provider) -> lines.add(String.format("Provider '%s': %d polls, %d hits (%.1f%%)",
+                name, (Long) provider.get("polls"), (Long) provider.get("hits"), (Double) provider.get("hitRatio") * 100)));
+        return lines;
+    }
+
+    private static final class ProviderCounters {
+        private final LongAdder polls = new LongAdder();
+        private final LongAdder hits = new LongAdder();
+    }
+}
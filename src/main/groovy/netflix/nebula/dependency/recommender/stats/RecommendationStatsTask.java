@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.stats;
+
+import groovy.json.JsonOutput;
+import netflix.nebula.dependency.recommender.service.BomResolverService;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.UntrackedTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reports the {@link RecommendationStatistics} of a project, as collected so far in the build, to the console and to
+ * a JSON file. List it after the tasks whose resolution should be covered.
+ *
+ * @since 13.2.0
+ */
+@UntrackedTask(because = "Reports counters collected while the build runs")
+public abstract class RecommendationStatsTask extends DefaultTask {
+    @Internal
+    public abstract Property<BomResolverService> getBomResolverService();
+
+    @Internal
+    public abstract Property<String> getProjectPath();
+
+    @OutputFile
+    public abstract RegularFileProperty getReportFile();
+
+    @TaskAction
+    public void report() throws IOException {
+        RecommendationStatistics statistics = getBomResolverService().get().getStatistics(getProjectPath().get());
+        getLogger().lifecycle("Recommendation statistics for project '" + getProjectPath().get() + "'");
+        for (String line : statistics.describe()) {
+            getLogger().lifecycle("  " + line);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("project", getProjectPath().get());
+        report.putAll(statistics.toMap());
+        File file = getReportFile().get().getAsFile();
+        Files.createDirectories(file.getParentFile().toPath());
+        Files.write(file.toPath(), JsonOutput.prettyPrint(JsonOutput.toJson(report)).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -17,11 +17,19 @@ package netflix.nebula.dependency.recommender.util;
 
 import netflix.nebula.dependency.recommender.provider.RecommendationProviderContainer;
 import netflix.nebula.dependency.recommender.service.BomResolverService;
+import netflix.nebula.dependency.recommender.service.PendingBomResolutionService;
+import netflix.nebula.dependency.recommender.service.PendingBomResolutionService.PendingProject;
 import org.gradle.api.Project;
+import org.gradle.api.invocation.Gradle;
 import org.gradle.api.logging.Logger;
 import org.gradle.api.logging.Logging;
 import org.gradle.api.provider.Provider;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Utility class for handling BOM (Bill of Materials) resolution operations.
  * 
@@ -95,18 +103,8 @@ public final class BomResolutionUtil {
             // Resolve BOMs from the specified configuration
             bomResolverService.get().eagerlyResolveAndCacheBoms(project, bomConfigurationName);
             
-            // Also trigger resolution for maven BOM provider if it exists
-            // This handles mavenBom providers configured in the extension
-            netflix.nebula.dependency.recommender.provider.MavenBomRecommendationProvider mavenBomProvider = container.getMavenBomProvider();
-            if (mavenBomProvider != null) {
-                try {
-                    mavenBomProvider.getVersion("dummy", "dummy");  // Trigger lazy initialization
-                } catch (Exception e) {
-                    // Expected - just needed to trigger BOM resolution
-                    logger.debug("Triggered BOM resolution for maven BOM provider", e);
-                }
-            }
-            
+            resolveContainerSources(container);
+
             logger.debug("Successfully resolved BOMs for project {} using configuration {}", 
                 project.getPath(), bomConfigurationName);
                 
@@ -119,6 +117,90 @@ public final class BomResolutionUtil {
         }
     }
 
+    /**
+     * Eagerly resolves BOM configurations for the given project together with those of every other project of the
+     * build, once all projects are evaluated.
+     *
+     * <p>Unlike {@link #eagerlyResolveBoms(Project, RecommendationProviderContainer, String)}, which resolves from the
+     * {@code afterEvaluate} of each project, this only records the project. When the build has evaluated its
+     * projects, the first recorded project declaring each distinct set of BOM coordinates resolves it into the
+     * {@link BomResolverService}, and the other projects declaring the same coordinates are not resolved at all, as
+     * they read the same cached recommendations.</p>
+     *
+     * @param project the Gradle project whose BOM configurations should be resolved
+     * @param container the recommendation provider container to check for additional BOM providers
+     * @param bomConfigurationName the name of the BOM configuration to resolve
+     * @throws IllegalArgumentException if any parameter is null
+     * @since 13.2.0
+     */
+    public static void eagerlyResolveBomsWhenProjectsEvaluated(Project project, RecommendationProviderContainer container,
+                                                               String bomConfigurationName) {
+        if (project == null) {
+            throw new IllegalArgumentException("Project cannot be null");
+        }
+        if (container == null) {
+            throw new IllegalArgumentException("RecommendationProviderContainer cannot be null");
+        }
+        if (bomConfigurationName == null || bomConfigurationName.trim().isEmpty()) {
+            throw new IllegalArgumentException("BOM configuration name cannot be null or empty");
+        }
+
+        final PendingBomResolutionService pending = PendingBomResolutionService.register(project).get();
+        if (pending.record(bomConfigurationName, project, container)) {
+            project.getGradle().projectsEvaluated(gradle -> resolvePendingProjects(gradle, pending));
+        }
+    }
+
+    private static void resolvePendingProjects(Gradle gradle, PendingBomResolutionService pending) {
+        Map<String, List<PendingProject>> projects = pending.takeAll();
+        if (projects.isEmpty()) {
+            return;
+        }
+
+        BomResolverService service = gradle.getSharedServices().registerIfAbsent(
+                "bomResolver", BomResolverService.class, spec -> {}
+        ).get();
+        for (Map.Entry<String, List<PendingProject>> configuration : projects.entrySet()) {
+            Set<Project> resolved = new LinkedHashSet<>();
+            for (PendingProject recorded : configuration.getValue()) {
+                resolved.add(recorded.getProject());
+            }
+            int sets = service.eagerlyResolveAndCacheBoms(resolved, configuration.getKey());
+            logger.info("Resolved {} distinct BOM sets for {} projects using configuration {}",
+                    sets, resolved.size(), configuration.getKey());
+
+            for (PendingProject recorded : configuration.getValue()) {
+                try {
+                    resolveContainerSources(recorded.getContainer());
+                } catch (Exception e) {
+                    logger.warn("Failed to eagerly resolve BOMs for project {} using configuration {}: {}",
+                            recorded.getProject().getPath(), configuration.getKey(), e.getMessage());
+                    if (logger.isDebugEnabled()) {
+                        logger.debug("BOM resolution failure details", e);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void resolveContainerSources(RecommendationProviderContainer container) {
+        // Also trigger resolution for maven BOM provider if it exists
+        // This handles mavenBom providers configured in the extension
+        netflix.nebula.dependency.recommender.provider.MavenBomRecommendationProvider mavenBomProvider = container.getMavenBomProvider();
+        if (mavenBomProvider != null) {
+            try {
+                mavenBomProvider.getVersion("dummy", "dummy");  // Trigger lazy initialization
+            } catch (Exception e) {
+                // Expected - just needed to trigger BOM resolution
+                logger.debug("Triggered BOM resolution for maven BOM provider", e);
+            }
+        }
+
+        // Module-based sources (propertiesFile, ivyXml, dependencyLock) are resolved now as well,
+        // so reading them during dependency resolution only hits the build service cache
+        container.eagerlyResolveModuleSources();
+    }
+
     /**
      * Checks if the given project should use eager BOM resolution.
      * 
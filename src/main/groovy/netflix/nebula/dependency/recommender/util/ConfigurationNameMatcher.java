@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Decides whether a configuration is excluded from recommendations, from exclusions compiled once: a set of exact
+ * names, a trie of name prefixes, and a single regular expression combining all glob and regex patterns. The result
+ * is cached per configuration name, since the same names are asked about for every resolution.
+ *
+ * <p>Patterns are globs, in which {@code *} matches any run of characters and {@code ?} a single one, unless they
+ * start with {@value #REGEX_PREFIX}, in which case the rest is a regular expression. Both have to match the whole
+ * name.</p>
+ *
+ * @since 13.2.0
+ */
+public final class ConfigurationNameMatcher {
+    public static final String REGEX_PREFIX = "regex:";
+
+    private static final String ANNOTATION_PROCESSOR_SUFFIX = "annotationprocessor";
+
+    private final Set<String> names;
+    private final PrefixNode prefixes;
+    private final Pattern patterns;
+    private final ConcurrentHashMap<String, Boolean> matches = new ConcurrentHashMap<>();
+
+    private ConfigurationNameMatcher(Set<String> names, PrefixNode prefixes, Pattern patterns) {
+        this.names = names;
+        this.prefixes = prefixes;
+        this.patterns = patterns;
+    }
+
+    /**
+     * @param names configuration names excluded exactly
+     * @param prefixes prefixes of excluded configuration names
+     * @param patterns glob or {@value #REGEX_PREFIX} patterns of excluded configuration names
+     * @throws java.util.regex.PatternSyntaxException if a regex pattern is invalid
+     */
+    public static ConfigurationNameMatcher compile(Collection<String> names, Collection<String> prefixes, Collection<String> patterns) {
+        PrefixNode trie = new PrefixNode();
+        for (String prefix : prefixes) {
+            trie.add(prefix);
+        }
+        List<String> alternatives = new ArrayList<>();
+        for (String pattern : patterns) {
+            alternatives.add(pattern.startsWith(REGEX_PREFIX) ? pattern.substring(REGEX_PREFIX.length()) : globToRegex(pattern));
+        }
+        Pattern combined = null;
+        if (!alternatives.isEmpty()) {
+            StringBuilder regex = new StringBuilder();
+            for (String alternative : alternatives) {
+                regex.append(regex.length() == 0 ? "" : "|").append("(?:").append(alternative).append(')');
+            }
+            combined = Pattern.compile(regex.toString());
+        }
+        return new ConfigurationNameMatcher(new HashSet<>(names), trie, combined);
+    }
+
+    /**
+     * @return whether recommendations are not applied to the configuration of this name
+     */
+    public boolean isExcluded(String configurationName) {
+        Boolean excluded = matches.get(configurationName);
+        if (excluded == null) {
+            excluded = names.contains(configurationName)
+                    || prefixes.matchesPrefixOf(configurationName)
+                    || (patterns != null && patterns.matcher(configurationName).matches());
+            matches.put(configurationName, excluded);
+        }
+        return excluded;
+    }
+
+    /**
+     * Whether a configuration is one of the final resolvable configurations, like {@code compileClasspath} or
+     * {@code runtimeClasspath} of any source set, or an annotation processor path.
+     */
+    public static boolean isClasspathConfiguration(String configurationName) {
+        return configurationName.endsWith("Classpath")
+                || configurationName.regionMatches(true, configurationName.length() - ANNOTATION_PROCESSOR_SUFFIX.length(),
+                ANNOTATION_PROCESSOR_SUFFIX, 0, ANNOTATION_PROCESSOR_SUFFIX.length());
+    }
+
+    static String globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        int literalStart = 0;
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' || c == '?') {
+                if (i > literalStart) {
+                    regex.append(Pattern.quote(glob.substring(literalStart, i)));
+                }
+                regex.append(c == '*' ? ".*" : ".");
+                literalStart = i + 1;
+            }
+        }
+        if (literalStart < glob.length()) {
+            regex.append(Pattern.quote(glob.substring(literalStart)));
+        }
+        return regex.toString();
+    }
+
+    private static final class PrefixNode {
+        private final Map<Character, PrefixNode> children = new HashMap<>();
+        private boolean terminal;
+
+        void add(String prefix) {
+            PrefixNode node = this;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), c -> new PrefixNode());
+            }
+            node.terminal = true;
+        }
+
+        boolean matchesPrefixOf(String name) {
+            PrefixNode node = this;
+            for (int i = 0; !node.terminal; i++) {
+                if (i == name.length()) {
+                    return false;
+                }
+                node = node.children.get(name.charAt(i));
+                if (node == null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
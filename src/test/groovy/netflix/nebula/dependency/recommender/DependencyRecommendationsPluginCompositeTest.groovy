@@ -15,6 +15,7 @@
  */
 package netflix.nebula.dependency.recommender
 
+import groovy.json.JsonSlurper
 import nebula.test.dependencies.DependencyGraphBuilder
 import nebula.test.dependencies.GradleDependencyGenerator
 import nebula.test.dsl.GroovyTestProjectBuilder
@@ -125,4 +126,183 @@ includeBuild '$compositeDir'
         assertThat(results.output).contains "\\--- project ':${compositeDir.name}:a'"
         assertThat(results.output).contains '\\--- example:foo -> 1.0.0'
     }
+
+    @Test
+    void 'builds of a composite share the resolution of the same BOM'() {
+        def depGraph = new DependencyGraphBuilder()
+                .addModule('example:foo:1.0.0')
+                .build()
+        def generator = new GradleDependencyGenerator(depGraph, repoDir.absolutePath)
+        generator.generateTestMavenRepo()
+        def bomRepo = new File(repoDir, 'bomrepo')
+        def bom = new File(bomRepo, 'example/platform/1.0.0/platform-1.0.0.pom')
+        bom.parentFile.mkdirs()
+        bom.text = """\
+<project>
+  <modelVersion>4.0.0</modelVersion>
+  <groupId>example</groupId>
+  <artifactId>platform</artifactId>
+  <version>1.0.0</version>
+  <packaging>pom</packaging>
+  <dependencyManagement>
+    <dependencies>
+      <dependency>
+        <groupId>example</groupId>
+        <artifactId>foo</artifactId>
+        <version>1.0.0</version>
+      </dependency>
+    </dependencies>
+  </dependencyManagement>
+</project>
+"""
+        def repositories = """
+repositories {
+    ${generator.mavenRepositoryBlock}
+    maven { url = '${bomRepo.toURI()}' }
+}
+"""
+        GroovyTestProjectBuilder.testProject(compositeDir) {
+            rootProject {
+                rawBuildScript("""
+allprojects {
+    group = 'example'
+}
+""")
+            }
+            ['a', 'b'].each { name ->
+                subProject(name) {
+                    plugins {
+                        java()
+                        id("com.netflix.nebula.dependency-recommender")
+                    }
+                    dependencies("""implementation 'example:foo'""")
+                    rawBuildScript("""
+${repositories}
+dependencyRecommendations {
+    mavenBom module: 'example:platform:1.0.0'
+}
+""")
+                }
+            }
+        }
+
+        final var composite = GroovyTestProjectBuilder.testProject(projectDir) {
+            settings {
+                rawSettingsScript("""
+rootProject.name = 'composite'
+includeBuild '$compositeDir'
+""")
+            }
+            rootProject {
+                plugins {
+                    java()
+                    id("com.netflix.nebula.dependency-recommender")
+                }
+                rawBuildScript("""
+${repositories}
+dependencyRecommendations {
+    mavenBom module: 'example:platform:1.0.0'
+}
+""")
+                dependencies("implementation 'example:foo'")
+            }
+        }
+
+        def results = composite.run(':dependencies', '--configuration', 'compileClasspath', ':recommendationStats',
+                ":${compositeDir.name}:a:recommendationStats", ":${compositeDir.name}:b:recommendationStats")
+        assertThat(results.output).contains '\\--- example:foo -> 1.0.0'
+
+        def reports = [projectDir, new File(compositeDir, 'a'), new File(compositeDir, 'b')].collect {
+            new JsonSlurper().parse(new File(it, 'build/reports/recommendation-stats.json')) as Map
+        }
+        // the first build to get to the BOM parses it, or takes it from an earlier build in the daemon, and the
+        // other build reuses that table
+        assert reports.sum { it.bomsParsed + it.daemonBomCacheHits } == 1
+        assert reports.sum { it.compositeBomCacheHits } == 1
+    }
+
+    @Test
+    void 'builds of a composite resolve the same BOM coordinates with their own repositories'() {
+        def depGraph = new DependencyGraphBuilder()
+                .addModule('example:foo:1.0.0')
+                .addModule('example:foo:2.0.0')
+                .build()
+        def generator = new GradleDependencyGenerator(depGraph, repoDir.absolutePath)
+        generator.generateTestMavenRepo()
+        def bomRepos = ['1.0.0', '2.0.0'].collect { version ->
+            def bomRepo = new File(repoDir, "bomrepo-$version")
+            def bom = new File(bomRepo, 'example/platform/1.0.0/platform-1.0.0.pom')
+            bom.parentFile.mkdirs()
+            bom.text = """\
+<project>
+  <modelVersion>4.0.0</modelVersion>
+  <groupId>example</groupId>
+  <artifactId>platform</artifactId>
+  <version>1.0.0</version>
+  <packaging>pom</packaging>
+  <dependencyManagement>
+    <dependencies>
+      <dependency>
+        <groupId>example</groupId>
+        <artifactId>foo</artifactId>
+        <version>$version</version>
+      </dependency>
+    </dependencies>
+  </dependencyManagement>
+</project>
+"""
+            bomRepo
+        }
+        def buildScript = { File bomRepo ->
+            """
+repositories {
+    ${generator.mavenRepositoryBlock}
+    maven { url = '${bomRepo.toURI()}' }
+}
+dependencyRecommendations {
+    mavenBom module: 'example:platform:1.0.0'
+}
+"""
+        }
+        GroovyTestProjectBuilder.testProject(compositeDir) {
+            rootProject {
+                rawBuildScript("""
+allprojects {
+    group = 'example'
+}
+""")
+            }
+            subProject('a') {
+                plugins {
+                    java()
+                    id("com.netflix.nebula.dependency-recommender")
+                }
+                dependencies("""implementation 'example:foo'""")
+                rawBuildScript(buildScript(bomRepos[0]))
+            }
+        }
+
+        final var composite = GroovyTestProjectBuilder.testProject(projectDir) {
+            settings {
+                rawSettingsScript("""
+rootProject.name = 'composite'
+includeBuild '$compositeDir'
+""")
+            }
+            rootProject {
+                plugins {
+                    java()
+                    id("com.netflix.nebula.dependency-recommender")
+                }
+                rawBuildScript(buildScript(bomRepos[1]))
+                dependencies("implementation 'example:foo'")
+            }
+        }
+
+        // both in one build, so that both builds of the composite resolve the same BOM coordinates
+        def results = composite.run(':dependencies', '--configuration', 'compileClasspath',
+                ":${compositeDir.name}:a:dependencies", '--configuration', 'compileClasspath')
+        assertThat(results.output).contains '\\--- example:foo -> 2.0.0'
+        assertThat(results.output).contains '\\--- example:foo -> 1.0.0'
+    }
 }
@@ -15,6 +15,7 @@
  */
 package netflix.nebula.dependency.recommender
 
+import groovy.json.JsonSlurper
 import nebula.test.IntegrationTestKitSpec
 import nebula.test.dependencies.DependencyGraphBuilder
 import nebula.test.dependencies.GradleDependencyGenerator
@@ -188,4 +189,114 @@ class DependencyRecommendationsPluginConfigurationCacheSpec extends IntegrationT
         result2.output.contains('Reusing configuration cache')
     }
 
+    def 'recommendations are not loaded again when the configuration cache is reused'() {
+        def repo = new MavenRepo()
+        repo.root = new File(projectDir, 'build/bomrepo')
+        def pom = new Pom('test.nebula.bom', 'testbom', '1.0.0', ArtifactType.POM)
+        pom.addManagementDependency('test.nebula', 'foo', '1.0.0')
+        repo.poms.add(pom)
+        repo.generate()
+        def graph = new DependencyGraphBuilder()
+                .addModule('test.nebula:foo:1.0.0')
+                .addModule('test.nebula:bar:2.0.0')
+                .build()
+        def generator = new GradleDependencyGenerator(graph)
+        generator.generateTestMavenRepo()
+
+        new File(projectDir, 'recommendations.properties') << 'test.nebula:bar = 2.0.0\n'
+
+        buildFile << """\
+            plugins {
+                id 'com.netflix.nebula.dependency-recommender'
+                id 'java'
+            }
+
+            repositories {
+                maven { url = '${repo.root.absoluteFile.toURI()}' }
+                ${generator.mavenRepositoryBlock}
+            }
+
+            dependencyRecommendations {
+                propertiesFile file: file('recommendations.properties')
+            }
+
+            dependencies {
+                nebulaRecommenderBom 'test.nebula.bom:testbom:1.0.0@pom'
+                implementation 'test.nebula:foo'
+                implementation 'test.nebula:bar'
+            }
+            """.stripIndent()
+
+        when:
+        runTasks('--configuration-cache', 'dependencies', '--configuration', 'compileClasspath', 'recommendationStats')
+        def result = runTasks('--configuration-cache', 'dependencies', '--configuration', 'compileClasspath', 'recommendationStats')
+
+        then:
+        result.output.contains('Reusing configuration cache')
+        result.output.contains('test.nebula:foo -> 1.0.0')
+        result.output.contains('test.nebula:bar -> 2.0.0')
+
+        def stats = new JsonSlurper().parse(new File(projectDir, 'build/reports/recommendation-stats.json'))
+        stats.bomsParsed == 0
+        stats.sourcesParsed == 0
+    }
+
+    def 'recommendations added after a configuration is resolved apply when the configuration cache is stored and reused'() {
+        def graph = new DependencyGraphBuilder()
+                .addModule('test.nebula:foo:1.0.0')
+                .addModule('test.nebula:bar:2.0.0')
+                .build()
+        def generator = new GradleDependencyGenerator(graph)
+        generator.generateTestMavenRepo()
+
+        buildFile << """\
+            plugins {
+                id 'com.netflix.nebula.dependency-recommender'
+                id 'java'
+            }
+
+            repositories {
+                ${generator.mavenRepositoryBlock}
+            }
+
+            dependencyRecommendations {
+                map recommendations: ['test.nebula:foo': '1.0.0']
+            }
+
+            configurations {
+                early
+            }
+
+            dependencies {
+                early 'test.nebula:foo'
+                implementation 'test.nebula:foo'
+                implementation 'test.nebula:bar'
+            }
+
+            // resolved while the build is configured, before the recommendation for bar is added
+            println "early: \${configurations.early.incoming.resolutionResult.allComponents*.moduleVersion}"
+
+            dependencyRecommendations {
+                map recommendations: ['test.nebula:bar': '2.0.0']
+            }
+
+            def compileClasspath = configurations.compileClasspath.incoming.resolutionResult.rootComponent
+            tasks.register('printVersions') {
+                doLast {
+                    compileClasspath.get().dependencies.each { println "resolved \${it.selected.moduleVersion}" }
+                }
+            }
+            """.stripIndent()
+
+        when:
+        def stored = runTasks('--configuration-cache', 'printVersions')
+        def reused = runTasks('--configuration-cache', 'printVersions')
+
+        then:
+        stored.output.contains('resolved test.nebula:foo:1.0.0')
+        stored.output.contains('resolved test.nebula:bar:2.0.0')
+        reused.output.contains('Reusing configuration cache')
+        reused.output.contains('resolved test.nebula:foo:1.0.0')
+        reused.output.contains('resolved test.nebula:bar:2.0.0')
+    }
 }
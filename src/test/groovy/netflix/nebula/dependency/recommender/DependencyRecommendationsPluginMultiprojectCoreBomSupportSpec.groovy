@@ -122,4 +122,145 @@ class DependencyRecommendationsPluginMultiprojectCoreBomSupportSpec extends Inte
         then:
         results.output.contains("+--- test.nebula:foo -> 1.0.0")
     }
+
+    def 'BOMs of all projects are resolved in one pass when batched'() {
+        def a = addSubproject('a', '''\
+                dependencies {
+                    implementation 'test.nebula:foo'
+                }
+            '''.stripIndent())
+        writeHelloWorld('a', a)
+        def b = addSubproject('b', '''\
+                dependencies {
+                    implementation 'test.nebula:foo'
+                }
+            '''.stripIndent())
+        writeHelloWorld('b', b)
+        buildFile << """\
+            allprojects {
+                apply plugin: 'java'
+                apply plugin: 'com.netflix.nebula.dependency-recommender'
+
+                dependencyRecommendations {
+                    batchBomResolution.set(true)
+                    mavenBom module: 'test.nebula.bom:testbom:1.0.0'
+                }
+
+                repositories {
+                    maven { url = '${repo.root.absoluteFile.toURI()}' }
+                    ${generator.mavenRepositoryBlock}
+                }
+            }
+            """.stripIndent()
+        when:
+        def results = runTasks(':a:dependencies', ':b:dependencies', '--configuration', 'compileClasspath', '--info')
+
+        then:
+        results.output.contains('Resolved 1 distinct BOM sets for 3 projects using configuration nebulaRecommenderBom')
+        results.output.count('+--- test.nebula:foo -> 1.0.0') == 2
+    }
+
+    def 'BOMs of the root project reach subprojects in isolated projects mode'() {
+        new File("${projectDir}/gradle.properties") << """
+            nebula.dependency-recommender.isolatedProjects=true
+            """.stripIndent()
+        def a = addSubproject('a', '''\
+                apply plugin: 'java'
+                apply plugin: 'com.netflix.nebula.dependency-recommender'
+
+                dependencies {
+                    implementation 'test.nebula:foo'
+                }
+            '''.stripIndent())
+        writeHelloWorld('a', a)
+        buildFile << """\
+            apply plugin: 'com.netflix.nebula.dependency-recommender'
+            dependencyRecommendations {
+                mavenBom module: 'test.nebula.bom:testbom:1.0.0'
+            }
+
+            allprojects {
+                repositories {
+                    maven { url = '${repo.root.absoluteFile.toURI()}' }
+                    ${generator.mavenRepositoryBlock}
+                }
+            }
+            """.stripIndent()
+        when:
+        def results = runTasks(':a:dependencies', '--configuration', 'compileClasspath')
+
+        then:
+        results.output.contains("+--- test.nebula:foo -> 1.0.0")
+    }
+
+    def 'only the projects a build needs are configured on demand'() {
+        def a = addSubproject('a', '''\
+                dependencies {
+                    implementation 'test.nebula:foo'
+                }
+            '''.stripIndent())
+        writeHelloWorld('a', a)
+        addSubproject('b', '''\
+                throw new GradleException('b should not be configured')
+            '''.stripIndent())
+        buildFile << """\
+            apply plugin: 'com.netflix.nebula.dependency-recommender'
+            dependencyRecommendations {
+                mavenBom module: 'test.nebula.bom:testbom:1.0.0'
+            }
+
+            allprojects {
+                apply plugin: 'java'
+
+                repositories {
+                    maven { url = '${repo.root.absoluteFile.toURI()}' }
+                    ${generator.mavenRepositoryBlock}
+                }
+            }
+
+            project(':b') {
+                configurations.register('neverRealizedClasspath') {
+                    throw new GradleException('configurations of b should not be realized')
+                }
+            }
+            """.stripIndent()
+        when:
+        def results = runTasks(':a:dependencies', '--configuration', 'compileClasspath', '--configure-on-demand', '--no-configuration-cache')
+
+        then:
+        results.output.contains("+--- test.nebula:foo -> 1.0.0")
+    }
+
+    def 'configurations resolved while a subproject is evaluated see the BOMs'() {
+        def a = addSubproject('a', '''\
+                dependencies {
+                    implementation 'test.nebula:foo'
+                }
+
+                afterEvaluate {
+                    println "resolved while evaluated: ${configurations.compileClasspath.resolvedConfiguration.firstLevelModuleDependencies.find { it.moduleName == 'foo' }?.moduleVersion}"
+                }
+            '''.stripIndent())
+        writeHelloWorld('a', a)
+        buildFile << """\
+            apply plugin: 'com.netflix.nebula.dependency-recommender'
+            dependencyRecommendations {
+                mavenBom module: 'test.nebula.bom:testbom:1.0.0'
+            }
+
+            allprojects {
+                apply plugin: 'java'
+
+                repositories {
+                    maven { url = '${repo.root.absoluteFile.toURI()}' }
+                    ${generator.mavenRepositoryBlock}
+                }
+            }
+            """.stripIndent()
+        when:
+        def results = runTasks(':a:help', '--no-configuration-cache')
+
+        then:
+        results.output.contains('resolved while evaluated: 1.0.0')
+    }
 }
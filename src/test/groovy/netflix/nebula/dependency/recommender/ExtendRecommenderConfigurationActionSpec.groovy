@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender
+
+import netflix.nebula.dependency.recommender.provider.RecommendationProviderContainer
+import org.gradle.api.Project
+import org.gradle.testfixtures.ProjectBuilder
+import spock.lang.Specification
+
+class ExtendRecommenderConfigurationActionSpec extends Specification {
+    Project root
+    Project project
+
+    def setup() {
+        root = ProjectBuilder.builder().withName('root').build()
+        project = ProjectBuilder.builder().withName('library').withParent(root).build()
+        root.configurations.create('nebulaRecommenderBom')
+        project.apply plugin: 'java'
+        project.apply plugin: DependencyRecommendationsPlugin
+        project.dependencyRecommendations.eagerlyResolve.set(false)
+    }
+
+    def 'classpath configurations of a subproject share one copy of the bom configuration'() {
+        setup:
+        def bom = root.configurations.nebulaRecommenderBom
+        root.dependencies {
+            nebulaRecommenderBom 'sample:bom:1.0@pom'
+        }
+
+        when:
+        def container = project.extensions.getByType(RecommendationProviderContainer)
+        project.configurations.configureEach(new ExtendRecommenderConfigurationAction(bom, project, container))
+        project.configurations.configureEach(new ExtendRecommenderConfigurationAction(bom, project, container))
+        project.sourceSets.create('integration')
+
+        then:
+        def copies = project.configurations.names.findAll { it.startsWith('nebulaRecommenderBomCopy') }
+        copies == ['nebulaRecommenderBomCopy__library'] as SortedSet
+        def copy = project.configurations.nebulaRecommenderBomCopy__library
+        project.configurations.compileClasspath.extendsFrom.contains(copy)
+        project.configurations.integrationRuntimeClasspath.extendsFrom.contains(copy)
+
+        when:
+        root.dependencies {
+            nebulaRecommenderBom 'sample:other-bom:1.0@pom'
+        }
+        bom.dependencies.removeIf { it.name == 'bom' }
+
+        then:
+        copy.dependencies.empty
+        project.configurations.compileClasspath.incoming.dependencies*.name == ['other-bom']
+        copy.dependencies*.name == ['other-bom']
+    }
+
+    def 'bom dependencies can be added to the root project after a subproject classpath was resolved'() {
+        setup:
+        def bom = root.configurations.nebulaRecommenderBom
+        root.dependencies {
+            nebulaRecommenderBom 'sample:bom:1.0@pom'
+            constraints {
+                nebulaRecommenderBom 'sample:constrained:1.0'
+            }
+        }
+        project.configurations.configureEach(new ExtendRecommenderConfigurationAction(bom, project,
+                project.extensions.getByType(RecommendationProviderContainer)))
+
+        when:
+        project.configurations.compileClasspath.incoming.resolutionResult.allComponents
+        root.dependencies {
+            nebulaRecommenderBom 'sample:late-bom:1.0@pom'
+        }
+
+        then:
+        bom.dependencies*.name == ['bom', 'late-bom']
+        def copy = project.configurations.nebulaRecommenderBomCopy__library
+        copy.dependencies*.name == ['bom']
+        copy.dependencyConstraints*.name == ['constrained']
+    }
+
+    def 'the bom configuration of the project itself is extended without a copy'() {
+        when:
+        def bom = project.configurations.nebulaRecommenderBom
+        project.configurations.configureEach(new ExtendRecommenderConfigurationAction(bom, project,
+                project.extensions.getByType(RecommendationProviderContainer)))
+
+        then:
+        project.configurations.compileClasspath.extendsFrom.contains(bom)
+        project.configurations.names.findAll { it.startsWith('nebulaRecommenderBomCopy') }.empty
+    }
+}
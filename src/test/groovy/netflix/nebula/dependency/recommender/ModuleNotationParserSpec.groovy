@@ -0,0 +1,56 @@
+package netflix.nebula.dependency.recommender
+
+import org.gradle.api.IllegalDependencyNotation
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class ModuleNotationParserSpec extends Specification {
+    @Unroll
+    def 'parse #notation'() {
+        when:
+        def mvid = ModuleNotationParser.parse(notation)
+
+        then:
+        mvid.group == group
+        mvid.name == name
+        mvid.version == version
+        mvid.module.group == group
+        mvid.module.name == name
+
+        where:
+        notation           | group  | name | version
+        'a:b'              | 'a'    | 'b'  | null
+        'a:b:1'            | 'a'    | 'b'  | '1'
+        'a:b:1:sources'    | 'a'    | 'b'  | '1'
+        'a:b:'             | 'a'    | 'b'  | null
+        'a:b:1:sources::'  | 'a'    | 'b'  | '1'
+        ':b:1'             | null   | 'b'  | '1'
+        'a::1'             | 'a'    | ''   | '1'
+        'a:b::sources'     | 'a'    | 'b'  | ''
+    }
+
+    @Unroll
+    def 'reject #notation'() {
+        when:
+        ModuleNotationParser.parse(notation)
+
+        then:
+        thrown(IllegalDependencyNotation)
+
+        where:
+        notation << ['', 'a', ':::', 'a:b:1:sources:jar']
+    }
+
+    def 'parsed notations are values'() {
+        expect:
+        ModuleNotationParser.parse('a:b:1') == ModuleNotationParser.parse('a:b:1:sources')
+        ModuleNotationParser.parse('a:b:1').hashCode() == ModuleNotationParser.parse('a:b:1').hashCode()
+        ModuleNotationParser.parse('a:b:1') != ModuleNotationParser.parse('a:b:2')
+        ModuleNotationParser.parse('a:b:1').toString() == 'a:b:1'
+    }
+
+    def 'parse notations in bulk'() {
+        expect:
+        ModuleNotationParser.parseAll(['c:d:2', 'a:b:1', 'e:f'])*.toString() == ['c:d:2', 'a:b:1', 'e:f:null']
+    }
+}
@@ -1,6 +1,8 @@
 package netflix.nebula.dependency.recommender
 
+import org.gradle.api.InvalidUserDataException
 import org.gradle.api.Project
+import org.gradle.api.internal.artifacts.DefaultModuleIdentifier
 import org.gradle.testfixtures.ProjectBuilder
 import org.junit.Rule
 import org.junit.rules.TemporaryFolder
@@ -36,6 +38,20 @@ class RecommendationProviderContainerSpec extends Specification {
         project.configurations.compileClasspath.resolvedConfiguration.firstLevelModuleDependencies.collect { it.moduleVersion } == ['1.1', '18.0']
     }
 
+    def 'batch recommendations are given in LIFO with respect to the order in which providers are specified'() {
+        setup:
+        project.dependencyRecommendations {
+            map recommendations: ['commons-logging:commons-logging': '1.2', 'com.google.guava:guava': '18.0']
+            map recommendations: ['commons-logging:commons-logging': '1.1']
+        }
+        def logging = DefaultModuleIdentifier.newId('commons-logging', 'commons-logging')
+        def guava = DefaultModuleIdentifier.newId('com.google.guava', 'guava')
+        def missing = DefaultModuleIdentifier.newId('not', 'recommended')
+
+        expect:
+        project.dependencyRecommendations.getRecommendedVersions([logging, guava, missing]) == [(logging): '1.1', (guava): '18.0']
+    }
+
     def 'recommendation providers can be named and recommendations provided by name'() {
         setup:
         project.dependencyRecommendations {
@@ -52,6 +68,32 @@ class RecommendationProviderContainerSpec extends Specification {
         project.configurations.compileClasspath.resolvedConfiguration.firstLevelModuleDependencies.collect { it.moduleVersion } == ['1.0']
     }
 
+    def 'recommendations for many coordinates are provided by name in input order'() {
+        setup:
+        project.dependencyRecommendations {
+            map recommendations: ['commons-logging:commons-logging': '1.1', 'com.google.guava:guava': '18.0'], name: 'r1'
+            map recommendations: ['commons-logging:commons-logging': '1.0'], name: 'r2'
+        }
+
+        expect:
+        project.recommendAll(['com.google.guava:guava', 'commons-lang:commons-lang:2.6', 'commons-logging:commons-logging'], 'r1') ==
+                ['com.google.guava:guava:18.0', 'commons-lang:commons-lang:2.6', 'commons-logging:commons-logging:1.1']
+    }
+
+    def 'all coordinates without a recommendation are reported together'() {
+        setup:
+        project.dependencyRecommendations {
+            map recommendations: ['commons-logging:commons-logging': '1.1'], name: 'r1'
+        }
+
+        when:
+        project.recommendAll(['not:recommended', 'commons-logging:commons-logging', 'also:missing'], 'r1')
+
+        then:
+        def e = thrown(InvalidUserDataException)
+        e.message.contains('not:recommended, also:missing')
+    }
+
     def 'transitive dependencies of providers are not calculated and therefore have no effect'() {
         setup:
         project.dependencyRecommendations {
@@ -279,4 +321,51 @@ class RecommendationProviderContainerSpec extends Specification {
         commonsLangCompile.moduleVersion == '1.1'
         commonsLangExcluded.moduleVersion == '1.1.1'
     }
+
+    def 'excludes configurations matching a pattern'() {
+        setup:
+        project.configurations.create("toolExcluded")
+
+        project.dependencyRecommendations {
+            strategy OverrideTransitives
+            excludeConfigurationPatterns 'tool*', 'regex:.*Generated'
+            map recommendations: ['commons-logging:commons-logging': '1.1']
+
+        }
+
+        when:
+        project.dependencies {
+            implementation 'commons-configuration:commons-configuration:1.10'
+            // no first order dependency on commons-logging, but still recommend with OverrideTransitives strategy
+            toolExcluded 'commons-configuration:commons-configuration:1.10'
+            // this one will be excluded from recommendations
+        }
+
+        def commonsConfigCompile = project.configurations.compileClasspath.resolvedConfiguration.firstLevelModuleDependencies.iterator().next()
+        def commonsLangCompile = commonsConfigCompile.children.find { it.moduleName == 'commons-logging' }
+
+        def commonsConfigExcluded = project.configurations.toolExcluded.resolvedConfiguration.firstLevelModuleDependencies.iterator().next()
+        def commonsLangExcluded = commonsConfigExcluded.children.find { it.moduleName == 'commons-logging' }
+
+        then:
+        commonsLangCompile.moduleVersion == '1.1'
+        commonsLangExcluded.moduleVersion == '1.1.1'
+        project.dependencyRecommendations.configurationExclusions.isExcluded('sourcesGenerated')
+    }
+
+    def 'exclusions added after configurations were checked apply from then on'() {
+        when:
+        def excludedBefore = project.dependencyRecommendations.configurationExclusions.isExcluded(name)
+        project.dependencyRecommendations."$method" exclusion
+
+        then:
+        !excludedBefore
+        project.dependencyRecommendations.configurationExclusions.isExcluded(name)
+
+        where:
+        method                         | exclusion | name
+        'excludeConfigurations'        | 'late'    | 'late'
+        'excludeConfigurationPrefixes' | 'late'    | 'lateClasspath'
+        'excludeConfigurationPatterns' | '*Late*'  | 'compileLateClasspath'
+    }
 }
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.index
+
+import netflix.nebula.dependency.recommender.DependencyRecommendationsPlugin
+import org.gradle.testfixtures.ProjectBuilder
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class RecommendationIndexSpec extends Specification {
+    @Rule TemporaryFolder temp
+
+    def 'versions are looked up in a written index'() {
+        def file = temp.newFile('recommendations.nrix')
+        def versions = [
+                'com.google.guava:guava': '18.0',
+                'com.google.guava:guava-testlib': '18.0',
+                'commons-logging:commons-logging': '1.1',
+                'org.ünïcode:módule': '2.0',
+                'z:a': '3.0'
+        ]
+
+        when:
+        RecommendationIndex.write(versions, file)
+        def index = RecommendationIndex.open(file)
+
+        then:
+        index.size() == 5
+        versions.every { coordinates, version -> index.getVersion(*coordinates.split(':')) == version }
+        index.getVersion('com.google.guava', 'missing') == null
+        index.getVersion('com.google', 'guava') == null
+        index.getVersion('zz', 'a') == null
+        index.toMap() == versions
+    }
+
+    def 'an empty index has no versions'() {
+        def file = temp.newFile('empty.nrix')
+
+        when:
+        RecommendationIndex.write([:], file)
+        def index = RecommendationIndex.open(file)
+
+        then:
+        index.size() == 0
+        index.getVersion('any', 'module') == null
+    }
+
+    def 'files that are not an index are rejected'() {
+        def file = temp.newFile('recommendations.properties')
+        file.text = 'com.google.guava:guava = 18.0'
+
+        when:
+        RecommendationIndex.open(file)
+
+        then:
+        def e = thrown(IOException)
+        e.message.contains('is not a recommendation index')
+    }
+
+    def 'compileRecommendationIndex compiles the recommendations of the project'() {
+        def project = ProjectBuilder.builder().withProjectDir(temp.newFolder('project')).build()
+        project.apply plugin: 'java'
+        project.apply plugin: DependencyRecommendationsPlugin
+        project.dependencyRecommendations {
+            map recommendations: ['commons-logging:commons-logging': '1.1']
+        }
+        CompileRecommendationIndexTask task = project.tasks.getByName('compileRecommendationIndex')
+
+        when:
+        task.compile()
+
+        then:
+        RecommendationIndex.open(task.indexFile.get().asFile).toMap() == ['commons-logging:commons-logging': '1.1']
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.jfr
+
+import jdk.jfr.Event
+import jdk.jfr.Name
+import jdk.jfr.Recording
+import jdk.jfr.consumer.RecordedEvent
+import jdk.jfr.consumer.RecordingFile
+import netflix.nebula.dependency.recommender.DependencyRecommendationsPlugin
+import org.gradle.api.Project
+import org.gradle.testfixtures.ProjectBuilder
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class RecommenderEventsSpec extends Specification {
+    @Rule TemporaryFolder temp
+
+    Project project
+
+    def setup() {
+        project = ProjectBuilder.builder().withProjectDir(temp.newFolder('project')).build()
+        project.apply plugin: 'java'
+        project.apply plugin: DependencyRecommendationsPlugin
+    }
+
+    def 'provider polls are recorded from the last provider to the first'() {
+        setup:
+        project.dependencyRecommendations {
+            map recommendations: ['commons-logging:commons-logging': '1.1'], name: 'first'
+            map recommendations: ['com.google.guava:guava': '18.0'], name: 'second'
+        }
+
+        when:
+        def events = record(ProviderPollEvent) {
+            project.dependencyRecommendations.getRecommendedVersion('commons-logging', 'commons-logging')
+        }
+
+        then:
+        events.collect { [it.getString('provider'), it.getString('module'), it.getBoolean('hit')] } == [
+                ['second', 'commons-logging:commons-logging', false],
+                ['first', 'commons-logging:commons-logging', true]
+        ]
+    }
+
+    def 'recommendation decisions are recorded per dependency'() {
+        setup:
+        project.dependencyRecommendations {
+            map recommendations: ['commons-logging:commons-logging': '1.1']
+        }
+        project.configurations.compileClasspath.resolutionStrategy.force 'com.google.guava:guava:18.0'
+        project.dependencies {
+            implementation 'commons-logging:commons-logging'
+            implementation 'com.google.guava:guava'
+            implementation 'not:recommended:1.0'
+        }
+
+        when:
+        def events = record(RecommendationDecisionEvent) {
+            // nothing can be downloaded without repositories, but every dependency is still seen by eachDependency
+            project.configurations.compileClasspath.incoming.resolutionResult.allDependencies
+        }
+
+        then:
+        events.collect { [it.getString('module'), it.getString('version'), it.getString('outcome')] } as Set == [
+                ['commons-logging:commons-logging', '1.1', RecommendationDecisionEvent.RECOMMENDED],
+                ['com.google.guava:guava', null, RecommendationDecisionEvent.FORCED],
+                ['not:recommended', null, RecommendationDecisionEvent.NOT_RECOMMENDABLE]
+        ] as Set
+        events.every { it.getString('project') == ':' && it.getString('configuration') == 'compileClasspath' }
+    }
+
+    /**
+     * Records the events of {@code type} emitted while running {@code action}. A dump holds whole chunks, which can
+     * include events of other recordings, so the events are filtered by type.
+     */
+    private List<RecordedEvent> record(Class<? extends Event> type, Closure action) {
+        def recording = new Recording()
+        recording.enable(type)
+        recording.start()
+        try {
+            action()
+        } finally {
+            recording.stop()
+        }
+        def file = new File(temp.root, 'recording.jfr').toPath()
+        recording.dump(file)
+        recording.close()
+        return RecordingFile.readAllEvents(file).findAll { it.eventType.name == type.getAnnotation(Name).value() }
+    }
+}
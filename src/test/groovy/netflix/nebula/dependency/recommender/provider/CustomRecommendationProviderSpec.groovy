@@ -10,4 +10,36 @@ class CustomRecommendationProviderSpec extends Specification {
         then:
         recommender.getVersion('commons-logging', 'commons-logging') == '1.0'
     }
+
+    def 'memoized closures are called once per coordinate, including coordinates without a recommendation'() {
+        setup:
+        def calls = 0
+        def recommender = new CustomRecommendationProvider({ org, name -> calls++; name == 'commons-logging' ? '1.0' : null }).memoize()
+
+        when:
+        3.times {
+            recommender.getVersion('commons-logging', 'commons-logging')
+            recommender.getVersion('commons-lang', 'commons-lang')
+        }
+
+        then:
+        recommender.getVersion('commons-logging', 'commons-logging') == '1.0'
+        recommender.getVersion('commons-lang', 'commons-lang') == null
+        calls == 2
+        recommender.savedCalls == 6
+    }
+
+    def 'memoized results are evicted beyond the maximum size'() {
+        setup:
+        def calls = 0
+        def recommender = new CustomRecommendationProvider({ org, name -> calls++; '1.0' }).memoize(1)
+
+        when:
+        recommender.getVersion('a', 'a')
+        recommender.getVersion('b', 'b')
+        recommender.getVersion('a', 'a')
+
+        then:
+        calls == 3
+    }
 }
@@ -84,4 +84,35 @@ class FileBasedRecommendationProviderSpec extends Specification {
         then:
         recommender.input.text == 'test'
     }
+
+    def 'module resolution is shared by providers using the same notation'() {
+        setup:
+        def project = ProjectBuilder.builder().build()
+        project.apply plugin: 'java'
+        project.apply plugin: DependencyRecommendationsPlugin
+
+        def repo = projectDir.newFolder('repo')
+        def sample = new File(repo, 'sample/recommender/1.0')
+        sample.mkdirs()
+        new File(sample, 'recommender-1.0.txt') << 'test'
+
+        project.repositories { maven {
+            url repo
+            metadataSources {
+                artifact()
+            }
+        } }
+
+        def first = new PropertyFileRecommendationProvider(project)
+        first.setModule('sample:recommender:1.0@txt')
+        def second = new PropertyFileRecommendationProvider(project)
+        second.setModule('sample:recommender:1.0@txt')
+
+        when:
+        first.eagerlyResolveModule()
+        project.repositories.clear()
+
+        then: // no repositories are left, so this is only readable if the resolved file was remembered
+        second.input.text == 'test'
+    }
 }
@@ -0,0 +1,175 @@
+package netflix.nebula.dependency.recommender.provider
+
+import com.sun.net.httpserver.HttpExchange
+import com.sun.net.httpserver.HttpServer
+import org.gradle.api.InvalidUserDataException
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
+
+class HttpRecommendationSourceCacheSpec extends Specification {
+    @Rule TemporaryFolder cacheDir
+
+    HttpServer server
+    AtomicInteger requests = new AtomicInteger()
+    AtomicInteger notModified = new AtomicInteger()
+    String content = 'com.google.guava:guava = 18.0'
+    String etag = '"v1"'
+
+    def setup() {
+        server = HttpServer.create(new InetSocketAddress('127.0.0.1', 0), 0)
+        server.createContext('/versions.props') { HttpExchange exchange ->
+            requests.incrementAndGet()
+            if (exchange.requestHeaders.getFirst('If-None-Match') == etag) {
+                notModified.incrementAndGet()
+                exchange.sendResponseHeaders(304, -1)
+            } else {
+                byte[] bytes = content.getBytes('UTF-8')
+                exchange.responseHeaders.add('ETag', etag)
+                exchange.sendResponseHeaders(200, bytes.length)
+                exchange.responseBody.write(bytes)
+            }
+            exchange.close()
+        }
+        server.start()
+    }
+
+    def cleanup() {
+        server.stop(0)
+    }
+
+    URL getUrl() {
+        new URL("http://127.0.0.1:${server.address.port}/versions.props")
+    }
+
+    def 'unchanged sources are revalidated with a conditional request'() {
+        setup:
+        def cache = new HttpRecommendationSourceCache(cacheDir.root, 0, false)
+
+        expect:
+        cache.open(url).text == content
+        cache.open(url).text == content
+        requests.get() == 2
+        notModified.get() == 1
+    }
+
+    def 'changed sources are fetched again'() {
+        setup:
+        def cache = new HttpRecommendationSourceCache(cacheDir.root, 0, false)
+        cache.open(url).text
+
+        when:
+        content = 'com.google.guava:guava = 19.0'
+        etag = '"v2"'
+
+        then:
+        cache.open(url).text == 'com.google.guava:guava = 19.0'
+        notModified.get() == 0
+    }
+
+    def 'sources within their max-age are served without a request'() {
+        setup:
+        def cache = new HttpRecommendationSourceCache(cacheDir.root, 60_000, false)
+
+        expect:
+        cache.open(url).text == content
+        cache.open(url).text == content
+        requests.get() == 1
+    }
+
+    def 'cached sources are served in offline mode'() {
+        setup:
+        new HttpRecommendationSourceCache(cacheDir.root, 0, false).open(url).text
+        server.stop(0)
+
+        expect:
+        new HttpRecommendationSourceCache(cacheDir.root, 0, true).open(url).text == content
+        requests.get() == 1
+    }
+
+    def 'concurrent fetches of the same source are single-flighted'() {
+        setup:
+        def cache = new HttpRecommendationSourceCache(cacheDir.root, 60_000, false)
+        def executor = Executors.newFixedThreadPool(8)
+
+        when:
+        def results = executor.invokeAll((1..8).collect { { cache.open(url).text } as Callable<String> })*.get()
+
+        then:
+        results.every { it == content }
+        requests.get() == 1
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def 'readers arriving while a source is revalidated share the result at the default max-age'() {
+        setup:
+        def cache = new HttpRecommendationSourceCache(cacheDir.root, 0, false)
+        cache.open(url).text
+        requests.set(0)
+        def release = new CountDownLatch(1)
+        server.removeContext('/versions.props')
+        server.createContext('/versions.props') { HttpExchange exchange ->
+            requests.incrementAndGet()
+            release.await()
+            exchange.sendResponseHeaders(304, -1)
+            exchange.close()
+        }
+        def executor = Executors.newFixedThreadPool(8)
+
+        when:
+        def futures = (1..8).collect { executor.submit({ cache.open(url).text } as Callable<String>) }
+        def key = HttpRecommendationSourceCache.key(url)
+        while (HttpRecommendationSourceCache.inFlight[key]?.numberOfDependents != 7) {
+            Thread.sleep(10)
+        }
+        release.countDown()
+
+        then:
+        futures*.get().every { it == content }
+        requests.get() == 1
+        HttpRecommendationSourceCache.inFlight.isEmpty()
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def 'cached sources can be refreshed while a previously opened stream is unread'() {
+        setup:
+        def cache = new HttpRecommendationSourceCache(cacheDir.root, 0, false)
+        def first = cache.open(url)
+
+        when:
+        content = 'com.google.guava:guava = 19.0'
+        etag = '"v2"'
+        def second = cache.open(url)
+
+        then:
+        first.text == 'com.google.guava:guava = 18.0'
+        second.text == 'com.google.guava:guava = 19.0'
+    }
+
+    def 'max-age is given in seconds'() {
+        expect:
+        HttpRecommendationSourceCache.parseMaxAgeMillis(' 60 ') == 60_000
+    }
+
+    def 'invalid max-age values are reported with the property name'() {
+        when:
+        HttpRecommendationSourceCache.parseMaxAgeMillis(value)
+
+        then:
+        def e = thrown(InvalidUserDataException)
+        e.message.contains(HttpRecommendationSourceCache.MAX_AGE_PROPERTY)
+        e.message.contains("'$value'")
+
+        where:
+        value << ['1h', '-5']
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.provider
+
+import netflix.nebula.dependency.recommender.DependencyRecommendationsPlugin
+import netflix.nebula.dependency.recommender.index.RecommendationIndex
+import org.gradle.api.Project
+import org.gradle.testfixtures.ProjectBuilder
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class IndexRecommendationProviderSpec extends Specification {
+    @Rule TemporaryFolder temp
+
+    Project project
+
+    def setup() {
+        project = ProjectBuilder.builder().withProjectDir(temp.newFolder('project')).build()
+        project.apply plugin: 'java'
+        project.apply plugin: DependencyRecommendationsPlugin
+    }
+
+    def 'recommendations are read from an index file'() {
+        def file = temp.newFile('recommendations.nrix')
+        RecommendationIndex.write(['com.google.guava:guava': '18.0'], file)
+
+        when:
+        project.dependencyRecommendations {
+            index file: file
+        }
+
+        then:
+        project.dependencyRecommendations.getRecommendedVersion('com.google.guava', 'guava') == '18.0'
+        project.dependencyRecommendations.getRecommendedVersion('com.google.guava', 'missing') == null
+        project.dependencyRecommendations.allRecommendedVersions == ['com.google.guava:guava': '18.0']
+    }
+
+    def 'recommendations are read from an index module'() {
+        def repo = temp.newFolder('repo')
+        def file = new File(repo, 'sample/recommendations/1.0.0/recommendations-1.0.0.nrix')
+        file.parentFile.mkdirs()
+        RecommendationIndex.write(['com.google.guava:guava': '18.0'], file)
+        new File(file.parentFile, 'recommendations-1.0.0.pom').text = '''\
+            <project>
+              <modelVersion>4.0.0</modelVersion>
+              <groupId>sample</groupId>
+              <artifactId>recommendations</artifactId>
+              <version>1.0.0</version>
+              <packaging>pom</packaging>
+            </project>'''.stripIndent()
+
+        when:
+        project.repositories { maven { url = repo.toURI() } }
+        project.dependencyRecommendations {
+            index module: 'sample:recommendations:1.0.0'
+        }
+
+        then:
+        project.dependencyRecommendations.getRecommendedVersion('com.google.guava', 'guava') == '18.0'
+    }
+}
@@ -72,4 +72,45 @@ class IvyRecommendationProviderSpec extends Specification {
             "sample:recommender:$version@ivy"
         ]
     }
+
+    def 'only dependencies of the ivy-module dependencies section are indexed'() {
+        setup:
+        def recommendations = new IvyRecommendationProvider(null)
+        recommendations.setInputStream(new ByteArrayInputStream('''<?xml version="1.0" encoding="UTF-8"?>
+            <ivy-module version="2.0">
+              <info organisation="sample" module="recommender" revision="1.0">
+                <dependency org="info" name="ignored" rev="0.1"/>
+              </info>
+              <dependencies>
+                <dependency org="netflix" name="platform-ipc" rev="2.1287.0"/>
+                <dependency org="netflix" name="platform-core" rev="3.0.0">
+                  <artifact name="platform-core" type="jar"/>
+                </dependency>
+                <exclude org="netflix" module="excluded"/>
+              </dependencies>
+            </ivy-module>
+        '''.getBytes('UTF-8')))
+
+        expect:
+        recommendations.getVersion('netflix', 'platform-ipc') == '2.1287.0'
+        recommendations.getVersion('netflix', 'platform-core') == '3.0.0'
+        recommendations.getVersion('netflix', 'excluded') == null
+        recommendations.getVersion('info', 'ignored') == null
+        recommendations.getVersion('unknown', 'module') == null
+    }
+
+    def 'versions are still available keyed by coordinates'() {
+        setup:
+        def recommendations = new IvyRecommendationProvider(null)
+        recommendations.setInputStream(new ByteArrayInputStream('''<?xml version="1.0" encoding="UTF-8"?>
+            <ivy-module version="2.0">
+              <dependencies>
+                <dependency org="netflix" name="platform-ipc" rev="2.1287.0"/>
+              </dependencies>
+            </ivy-module>
+        '''.getBytes('UTF-8')))
+
+        expect:
+        recommendations.versionsByCoord == ['netflix:platform-ipc': '2.1287.0']
+    }
 }
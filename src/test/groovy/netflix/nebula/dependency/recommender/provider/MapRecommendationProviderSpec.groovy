@@ -1,6 +1,7 @@
 package netflix.nebula.dependency.recommender.provider
 
 import org.gradle.api.InvalidUserDataException
+import org.gradle.api.internal.artifacts.DefaultModuleIdentifier
 import spock.lang.Specification
 
 class MapRecommendationProviderSpec extends Specification {
@@ -46,4 +47,30 @@ class MapRecommendationProviderSpec extends Specification {
         then:
         provider.getVersion('com.sun.jersey', 'jersey-core') == '1.23'
     }
+
+    def 'recommendations are looked up and enumerated in bulk'() {
+        setup:
+        def guava = DefaultModuleIdentifier.newId('com.google.guava', 'guava')
+        def other = DefaultModuleIdentifier.newId('some', 'other')
+        def missing = DefaultModuleIdentifier.newId('not', 'recommended')
+
+        when:
+        provider.setRecommendations(
+            'GUAVA_VERSION': '18.0',
+            'com.google.guava:guava': '$GUAVA_VERSION',
+            'some:other': '1.0'
+        )
+
+        then:
+        provider.getVersions([guava, other, missing]) == [(guava): '18.0', (other): '1.0']
+        provider.allVersions == ['com.google.guava:guava': '18.0', 'some:other': '1.0']
+    }
+
+    def 'recommendations including globbed coordinates cannot be enumerated'() {
+        when:
+        provider.setRecommendations('com.sun.jersey:*': '1.23', 'com.google.guava:guava': '18.0')
+
+        then:
+        provider.allVersions == null
+    }
 }
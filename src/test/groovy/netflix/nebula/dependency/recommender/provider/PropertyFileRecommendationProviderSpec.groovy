@@ -75,4 +75,21 @@ class PropertyFileRecommendationProviderSpec extends Specification {
         then:
         provider.getVersion('com.sun.jersey', 'jersey-core') == '1.23'
     }
+
+    def 'projects reading the same properties file share one parsed table'() {
+        setup:
+        def sub1 = ProjectBuilder.builder().withName('sub1').withParent(project).build()
+        def sub2 = ProjectBuilder.builder().withName('sub2').withParent(project).build()
+        propFile << 'com.google.guava:guava = 18.0'
+
+        def provider1 = new PropertyFileRecommendationProvider(sub1)
+        provider1.setFile(propFile)
+        def provider2 = new PropertyFileRecommendationProvider(sub2)
+        provider2.setFile(propFile)
+
+        expect:
+        provider1.getVersion('com.google.guava', 'guava') == '18.0'
+        provider2.getVersion('com.google.guava', 'guava') == '18.0'
+        provider1.@recommendations.is(provider2.@recommendations)
+    }
 }
@@ -0,0 +1,139 @@
+package netflix.nebula.dependency.recommender.publisher
+
+import netflix.nebula.dependency.recommender.ModuleNotationParser
+import org.gradle.api.Action
+import org.gradle.api.XmlProvider
+import org.gradle.api.artifacts.ModuleVersionIdentifier
+import org.gradle.api.internal.artifacts.DefaultModuleVersionIdentifier
+import org.gradle.internal.xml.XmlTransformer
+import org.gradle.testfixtures.ProjectBuilder
+import spock.lang.Specification
+
+class DependencyManagementXmlWriterSpec extends Specification {
+    static final String BASE_POM = resource('pom-base.xml')
+
+    def 'streamed dependencyManagement matches the golden file'() {
+        def deps = [
+                id('test&nebula', 'a<b>', '1.0.0'),
+                id('com.google.guava', 'guava', '20.0'),
+                id('commons-logging', 'commons-logging', '[1.0,2.0>'),
+                id('com.google.guava', 'guava', '19.0'),
+                id('manual', 'dep', '1'),
+                id('com.google.guava', 'guava', '20.0')
+        ]
+
+        expect:
+        render([deps], true) == resource('pom-golden.xml')
+        render([deps], false) == resource('pom-golden.xml')
+    }
+
+    def 'streamed dependencyManagement is byte-identical to the node based output'() {
+        expect:
+        render(batches, true) == render(batches, false)
+
+        where:
+        batches << [
+                [[]],
+                [[], [id('a', 'b', '1')]],
+                [[id('c', 'd', '1')], [id('a', 'b', '1'), id('a', 'b', '1')]],
+                [[id('a', 'b', '1')], [], [id('c', 'd', '')]]
+        ]
+    }
+
+    def 'streamed dependencyManagement is byte-identical for a large BOM'() {
+        def deps = (1..15000).collect { id("org.group${it % 300}", "artifact-$it", "1.$it.0") }
+
+        expect:
+        render([deps], true) == render([deps], false)
+    }
+
+    def 'missing parts of the coordinates are written as empty elements'() {
+        def batches = [[ModuleNotationParser.parse(':a:1'), ModuleNotationParser.parse('g:b')]]
+
+        when:
+        def streamed = render(batches, true)
+
+        then:
+        streamed == render(batches, false)
+        streamed.contains('<groupId/>')
+        streamed.contains('<version/>')
+        !streamed.contains('null')
+    }
+
+    def 'dependencyManagement without streaming is identical to the node based output it replaced'() {
+        def batches = [
+                [id('c', 'd', '1'), id('a', 'b', '2'), id('a', 'b', '2')],
+                [id('test&nebula', 'a<b>', '1.0.0'), id('a', 'b', '1')]
+        ]
+        def project = ProjectBuilder.builder().build()
+        def fragment = project.tasks.register('fragment', GenerateDependencyManagementFragment) {
+            it.fragmentFile.set(project.layout.buildDirectory.file('dependency-management.xml'))
+        }.get()
+        batches.each { fragment.managedDependencies.addAll(MavenBomXmlGenerator.managedCoordinates(it, false)) }
+        project.layout.buildDirectory.get().asFile.mkdirs()
+        fragment.generate()
+
+        def baseline = new XmlTransformer()
+        batches.each { batch ->
+            // the node based output as it was written before the fragment task and the streaming writer
+            baseline.addAction({ XmlProvider xml ->
+                Node root = xml.asNode()
+                def dependencyManagement = root.getByName("dependencyManagement")
+                Node dependencies
+                if(dependencyManagement.isEmpty())
+                    dependencies = root.appendNode("dependencyManagement").appendNode("dependencies")
+                else
+                    dependencies = dependencyManagement[0].getByName("dependencies")[0]
+                batch.each { mvid ->
+                    Node dep = dependencies.appendNode("dependency")
+                    dep.appendNode("groupId").value = mvid.group
+                    dep.appendNode("artifactId").value = mvid.name
+                    dep.appendNode("version").value = mvid.version
+                }
+            } as Action<XmlProvider>)
+        }
+        def fromFragment = new XmlTransformer()
+        fromFragment.addAction({ XmlProvider xml ->
+            MavenBomXmlGenerator.streamDependencyManagementXml(xml, GenerateDependencyManagementFragment.read(fragment.fragmentFile.get().asFile))
+        } as Action<XmlProvider>)
+
+        expect:
+        transform(fromFragment) == transform(baseline)
+    }
+
+    def 'POMs with an unrecognized dependencyManagement layout are left to the node based output'() {
+        expect:
+        !DependencyManagementXmlWriter.canWrite('<project>\n  <dependencyManagement>\n    <!-- none -->\n  </dependencyManagement>\n</project>\n'.denormalize())
+        DependencyManagementXmlWriter.canWrite('<project>\n  <dependencyManagement>\n    <dependencies/>\n  </dependencyManagement>\n</project>\n'.denormalize())
+        DependencyManagementXmlWriter.canWrite('<project>\n  <modelVersion>4.0.0</modelVersion>\n</project>\n'.denormalize())
+    }
+
+    private static String render(List<List<ModuleVersionIdentifier>> batches, boolean streaming) {
+        XmlTransformer transformer = new XmlTransformer()
+        batches.each { batch ->
+            transformer.addAction({ XmlProvider xml ->
+                def deps = DependencyManagementXmlWriter.sortedDistinct(batch)
+                if (streaming) {
+                    MavenBomXmlGenerator.streamDependencyManagementXml(xml, deps)
+                } else {
+                    MavenBomXmlGenerator.appendDependencyManagementXml(xml.asNode(), deps)
+                }
+            } as Action<XmlProvider>)
+        }
+        return transform(transformer)
+    }
+
+    private static String transform(XmlTransformer transformer) {
+        def out = new ByteArrayOutputStream()
+        transformer.transform(BASE_POM, out)
+        return out.toString('UTF-8').normalize()
+    }
+
+    private static ModuleVersionIdentifier id(String group, String name, String version) {
+        DefaultModuleVersionIdentifier.newId(group, name, version)
+    }
+
+    private static String resource(String name) {
+        DependencyManagementXmlWriterSpec.getResource(name).getText('UTF-8').normalize()
+    }
+}
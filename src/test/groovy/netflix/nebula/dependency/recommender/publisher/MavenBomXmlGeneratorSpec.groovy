@@ -2,8 +2,10 @@ package netflix.nebula.dependency.recommender.publisher
 
 import nebula.test.ProjectSpec
 import netflix.nebula.dependency.recommender.DependencyRecommendationsPlugin
+import netflix.nebula.dependency.recommender.ModuleNotationParser
 import org.gradle.api.publish.maven.MavenPublication
 import org.gradle.api.publish.maven.plugins.MavenPublishPlugin
+import org.gradle.testfixtures.ProjectBuilder
 
 class MavenBomXmlGeneratorSpec extends ProjectSpec {
     def 'configure a publication with BOM generation'() {
@@ -28,4 +30,56 @@ class MavenBomXmlGeneratorSpec extends ProjectSpec {
         then:
         noExceptionThrown()
     }
+
+    def 'managed dependencies are collected across configurations and through cycles'() {
+        given:
+        def subprojects = ['a', 'b', 'c', 'd'].collectEntries { name ->
+            def subproject = ProjectBuilder.builder().withName(name).withParent(project).build()
+            subproject.group = 'test'
+            subproject.version = '1.0.0'
+            subproject.configurations.create('default')
+            [(name): subproject]
+        }
+        def dependsOn = { String from, String to ->
+            subprojects[from].dependencies.add('default', subprojects[from].dependencies.project(path: ":$to", configuration: 'default'))
+        }
+        dependsOn('a', 'b')
+        dependsOn('b', 'c')
+        dependsOn('c', 'b')
+        dependsOn('a', 'd')
+
+        project.configurations.create('first')
+        project.configurations.create('second')
+        project.dependencies.add('first', project.dependencies.project(path: ':a', configuration: 'default'))
+        project.dependencies.add('second', project.dependencies.project(path: ':d', configuration: 'default'))
+
+        when:
+        def managed = MavenBomXmlGenerator.getManagedDependencies(['first', 'second'].collect {
+            project.configurations.getByName(it).incoming.resolutionResult.rootComponent
+        })
+
+        then:
+        managed*.toString() == ['test:a:1.0.0', 'test:b:1.0.0', 'test:c:1.0.0', 'test:d:1.0.0']
+    }
+
+    def 'missing parts of the coordinates survive the dependencyManagement fragment'() {
+        given:
+        def managed = ModuleNotationParser.parseAll([':a:1', 'g:b', 'g:c:2'])
+        def task = project.tasks.register('fragment', GenerateDependencyManagementFragment) {
+            it.fragmentFile.set(project.layout.buildDirectory.file('dependency-management.xml'))
+        }.get()
+        task.managedDependencies.addAll(MavenBomXmlGenerator.managedCoordinates(managed, false))
+        project.layout.buildDirectory.get().asFile.mkdirs()
+
+        when:
+        task.generate()
+        def read = GenerateDependencyManagementFragment.read(task.fragmentFile.get().asFile)
+
+        then:
+        task.managedDependencies.get() == [':a:1', 'g:b:', 'g:c:2']
+        read == managed
+        read*.group == [null, 'g', 'g']
+        read*.version == ['1', null, '2']
+        !task.fragmentFile.get().asFile.text.contains('null')
+    }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.service
+
+import netflix.nebula.dependency.recommender.DependencyRecommendationsPlugin
+import netflix.nebula.dependency.recommender.index.RecommendationIndex
+import org.gradle.api.Project
+import org.gradle.testfixtures.ProjectBuilder
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class BomResolverServiceSpec extends Specification {
+    @Rule TemporaryFolder temp
+
+    Project project
+    BomResolverService service
+    File repo
+
+    def setup() {
+        repo = temp.newFolder('repo')
+        project = ProjectBuilder.builder().withProjectDir(temp.newFolder('project')).build()
+        project.apply plugin: DependencyRecommendationsPlugin
+        project.repositories { maven { url = repo.toURI() } }
+        service = project.gradle.sharedServices.registerIfAbsent('bomResolver', BomResolverService) {}.get()
+    }
+
+    def 'indexes are matched to the BOM of the same group when BOMs share a name and version'() {
+        setup:
+        def indexed = pom('first', 'bom', '1.0', 'first:managed', '1.0')
+        RecommendationIndex.write(['first:managed': '1.1'], new File(indexed.parentFile, 'bom-1.0.nrix'))
+        pom('second', 'bom', '1.0', 'second:managed', '2.0')
+        project.dependencyRecommendations.preferIndex = true
+        def configuration = project.configurations.detachedConfiguration(
+                project.dependencies.create('first:bom:1.0@pom'),
+                project.dependencies.create('second:bom:1.0@pom'))
+
+        when:
+        def reasons = new HashSet<String>()
+        def recommendations = service.getRecommendationsFromConfiguration(configuration, project, reasons)
+
+        then:
+        recommendations == ['first:managed': '1.1', 'second:managed': '2.0']
+        reasons.count { it.contains('recommendation index') } == 1
+    }
+
+    def 'projects declaring the same BOMs are only resolved once'() {
+        setup:
+        pom('first', 'bom', '1.0', 'first:managed', '1.0')
+        def other = ProjectBuilder.builder().withParent(project).withName('other').build()
+        [project, other].each {
+            it.configurations.create('boms')
+            it.dependencies.add('boms', 'first:bom:1.0@pom')
+        }
+
+        when:
+        def sets = service.eagerlyResolveAndCacheBoms([project, other], 'boms')
+
+        then:
+        sets == 1
+        service.getStatistics(project.path).toMap().bomCacheMisses == 1
+        service.getStatistics(other.path).toMap().subMap('bomCacheHits', 'bomCacheMisses') == [bomCacheHits: 0L, bomCacheMisses: 0L]
+        service.getCachedRecommendationsFromConfiguration(other.configurations.boms, new HashSet<String>()) == ['first:managed': '1.0']
+    }
+
+    private File pom(String group, String artifact, String version, String managed, String managedVersion) {
+        def (managedGroup, managedName) = managed.tokenize(':')
+        def dir = new File(repo, "${group}/${artifact}/${version}")
+        dir.mkdirs()
+        def file = new File(dir, "${artifact}-${version}.pom")
+        file.text = """\
+            |<?xml version="1.0" encoding="UTF-8"?>
+            |<project xmlns="http://maven.apache.org/POM/4.0.0">
+            |  <modelVersion>4.0.0</modelVersion>
+            |  <groupId>${group}</groupId>
+            |  <artifactId>${artifact}</artifactId>
+            |  <version>${version}</version>
+            |  <packaging>pom</packaging>
+            |  <dependencyManagement>
+            |    <dependencies>
+            |      <dependency><groupId>${managedGroup}</groupId><artifactId>${managedName}</artifactId><version>${managedVersion}</version></dependency>
+            |    </dependencies>
+            |  </dependencyManagement>
+            |</project>
+            |""".stripMargin()
+        return file
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.service
+
+import org.gradle.api.Project
+import org.gradle.testfixtures.ProjectBuilder
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class DaemonBomCacheSpec extends Specification {
+    @Rule TemporaryFolder temp
+
+    Project project
+    Map<String, File> resolved = [:]
+
+    def setup() {
+        project = ProjectBuilder.builder().withProjectDir(temp.newFolder('project')).build()
+    }
+
+    def cleanup() {
+        System.clearProperty('daemon.bom.cache.version')
+    }
+
+    def 'a table is reused while its BOM, parents and properties are unchanged'() {
+        def cache = new DaemonBomCache(100)
+        def bom = temp.newFile('bom-1.0.pom')
+        bom.text = '<project/>'
+        def parent = temp.newFile('parent-1.0.pom')
+        parent.text = '<project/>'
+        def inputs = new DaemonBomCache.Inputs()
+        inputs.parents['sample:parent:1.0'] = parent
+        resolved['sample:parent:1.0'] = parent
+        inputs.expressions << 'daemon.bom.cache.version'
+
+        when:
+        cache.put(bom, new DaemonBomCache.Table(['sample:module': '1.0'], ['reason'] as Set, inputs, project.providers))
+
+        then:
+        cache.get(bom, project.providers, resolved.&get).recommendations == ['sample:module': '1.0']
+        cache.get(bom, project.providers, resolved.&get).reasons == ['reason'] as Set
+
+        when:
+        System.setProperty('daemon.bom.cache.version', '2.0')
+
+        then:
+        cache.get(bom, project.providers, resolved.&get) == null
+
+        when:
+        System.clearProperty('daemon.bom.cache.version')
+        parent.text = '<project><modelVersion>4.0.0</modelVersion></project>'
+
+        then:
+        cache.get(bom, project.providers, resolved.&get) == null
+    }
+
+    def 'a table is only reused if the requesting build resolves the same parents'() {
+        def cache = new DaemonBomCache(100)
+        def bom = temp.newFile('bom-1.0.pom')
+        bom.text = '<project/>'
+        def parent = temp.newFile('parent-1.0.pom')
+        parent.text = '<project/>'
+        def inputs = new DaemonBomCache.Inputs()
+        inputs.parents['sample:parent:1.0'] = parent
+        cache.put(bom, new DaemonBomCache.Table(['sample:module': '1.0'], [] as Set, inputs, project.providers))
+        def elsewhere = temp.newFolder('elsewhere')
+
+        when:
+        resolved['sample:parent:1.0'] = new File(elsewhere, 'parent-1.0.pom')
+        resolved['sample:parent:1.0'].text = '<project/>'
+
+        then:
+        cache.get(bom, project.providers, resolved.&get) != null
+
+        when:
+        resolved['sample:parent:1.0'].text = '<project><modelVersion>4.0.0</modelVersion></project>'
+
+        then:
+        cache.get(bom, project.providers, resolved.&get) == null
+
+        when:
+        resolved.clear()
+
+        then:
+        cache.get(bom, project.providers, resolved.&get) == null
+    }
+
+    def 'tables are looked up by content'() {
+        def cache = new DaemonBomCache(100)
+        def bom = temp.newFile('bom-1.0.pom')
+        bom.text = '<project/>'
+        def copy = temp.newFile('copy-1.0.pom')
+        copy.text = '<project/>'
+
+        when:
+        cache.put(bom, new DaemonBomCache.Table(['sample:module': '1.0'], [] as Set, new DaemonBomCache.Inputs(), project.providers))
+
+        then:
+        cache.get(copy, project.providers, resolved.&get).recommendations == ['sample:module': '1.0']
+
+        when:
+        bom.text = '<project><modelVersion>4.0.0</modelVersion></project>'
+
+        then:
+        cache.get(bom, project.providers, resolved.&get) == null
+    }
+
+    def 'least recently used tables are evicted beyond the bound'() {
+        def cache = new DaemonBomCache(3)
+        def boms = (1..3).collect { i ->
+            def bom = temp.newFile("bom-${i}.pom")
+            bom.text = "<project><!-- ${i} --></project>"
+            bom
+        }
+
+        when:
+        cache.put(boms[0], table('a:a': '1', 'a:b': '1'))
+        cache.put(boms[1], table('b:a': '1'))
+        cache.get(boms[0], project.providers, resolved.&get)
+        cache.put(boms[2], table('c:a': '1'))
+
+        then:
+        cache.get(boms[0], project.providers, resolved.&get) != null
+        cache.get(boms[1], project.providers, resolved.&get) == null
+        cache.get(boms[2], project.providers, resolved.&get) != null
+    }
+
+    private DaemonBomCache.Table table(Map<String, String> recommendations) {
+        new DaemonBomCache.Table(recommendations, [] as Set, new DaemonBomCache.Inputs(), project.providers)
+    }
+}
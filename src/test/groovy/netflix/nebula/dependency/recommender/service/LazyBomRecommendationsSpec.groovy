@@ -0,0 +1,149 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.service
+
+import org.gradle.api.Project
+import org.gradle.testfixtures.ProjectBuilder
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class LazyBomRecommendationsSpec extends Specification {
+    @Rule TemporaryFolder temp
+
+    Project project
+    BomResolverService service
+    File repo
+
+    def setup() {
+        repo = temp.newFolder('repo')
+        project = ProjectBuilder.builder().withProjectDir(temp.newFolder('project')).build()
+        project.repositories { maven { url = repo.toURI() } }
+        service = project.gradle.sharedServices.registerIfAbsent('bomResolver', BomResolverService) {}.get()
+    }
+
+    def 'lazily parsed BOMs recommend the same versions as fully parsed ones'() {
+        pom('sample', 'parent', '1.0', '''\
+            <packaging>pom</packaging>
+            <properties><parent.version>9.9</parent.version></properties>
+            <dependencyManagement>
+              <dependencies>
+                <dependency><groupId>from</groupId><artifactId>parent</artifactId><version>7</version></dependency>
+                <dependency><groupId>sample</groupId><artifactId>overridden</artifactId><version>parent</version></dependency>
+              </dependencies>
+            </dependencyManagement>''')
+        pom('sample', 'imported', '1.0', '''\
+            <packaging>pom</packaging>
+            <dependencyManagement>
+              <dependencies>
+                <dependency><groupId>from</groupId><artifactId>import</artifactId><version>5</version></dependency>
+              </dependencies>
+            </dependencyManagement>''')
+        def bom = pom('sample', 'bom', '2.0', '''\
+            <parent><groupId>sample</groupId><artifactId>parent</artifactId><version>1.0</version></parent>
+            <packaging>pom</packaging>
+            <properties><escaped>1.&amp;2</escaped></properties>
+            <dependencyManagement>
+              <!-- <dependency><groupId>commented</groupId><artifactId>out</artifactId><version>0</version></dependency> -->
+              <dependencies>
+                <dependency><groupId>sample</groupId><artifactId>plain</artifactId><version> 1.0 </version></dependency>
+                <dependency><groupId>sample</groupId><artifactId>parent-property</artifactId><version>${parent.version}</version></dependency>
+                <dependency><groupId>sample</groupId><artifactId>project-version</artifactId><version>${project.version}</version></dependency>
+                <dependency><groupId>sample</groupId><artifactId>escaped</artifactId><version>${escaped}</version></dependency>
+                <dependency><groupId>${project.groupId}</groupId><artifactId>interpolated-group</artifactId><version>3</version></dependency>
+                <dependency><groupId>sample</groupId><artifactId>duplicate</artifactId><version>1</version></dependency>
+                <dependency>
+                  <groupId>sample</groupId>
+                  <artifactId>exclusions</artifactId>
+                  <version>4</version>
+                  <exclusions><exclusion><groupId>other</groupId><artifactId>other</artifactId></exclusion></exclusions>
+                </dependency>
+                <dependency><groupId>sample</groupId><artifactId>duplicate</artifactId><version>2</version></dependency>
+                <dependency><groupId>sample</groupId><artifactId>overridden</artifactId><version>own</version></dependency>
+                <dependency><groupId>sample</groupId><artifactId>imported</artifactId><version>1.0</version><type>pom</type><scope>import</scope></dependency>
+              </dependencies>
+            </dependencyManagement>''')
+
+        when:
+        def eager = service.parseBom(bom, project, new HashSet<String>(), false)
+        def lazy = service.parseBom(bom, project, new HashSet<String>(), true)
+
+        then:
+        lazy instanceof LazyBomRecommendations
+        eager.every { coordinates, version -> lazy.get(coordinates) == version }
+        lazy.get('sample:missing') == null
+        lazy.get('commented:out') == null
+        new HashMap(lazy) == eager
+        eager['sample:duplicate'] == '2'
+        eager['sample:overridden'] == 'own'
+    }
+
+    def 'lazily parsed BOMs do not read the BOM file again'() {
+        def bom = pom('sample', 'detached', '1.0', '''\
+            <packaging>pom</packaging>
+            <dependencyManagement>
+              <dependencies>
+                <dependency><groupId>sample</groupId><artifactId>first</artifactId><version>1.0</version></dependency>
+                <dependency><groupId>sample</groupId><artifactId>last</artifactId><version>2.0</version></dependency>
+              </dependencies>
+            </dependencyManagement>''')
+
+        when:
+        def lazy = service.parseBom(bom, project, new HashSet<String>(), true)
+        bom.text = ''
+
+        then:
+        lazy instanceof LazyBomRecommendations
+        lazy.get('sample:first') == '1.0'
+        lazy.get('sample:last') == '2.0'
+        new HashMap(lazy) == ['sample:first': '1.0', 'sample:last': '2.0']
+    }
+
+    def 'BOMs with profiles are parsed in full'() {
+        def bom = pom('sample', 'profiles', '1.0', '''\
+            <packaging>pom</packaging>
+            <dependencyManagement>
+              <dependencies>
+                <dependency><groupId>sample</groupId><artifactId>plain</artifactId><version>1.0</version></dependency>
+              </dependencies>
+            </dependencyManagement>
+            <profiles><profile><id>unused</id></profile></profiles>''')
+
+        when:
+        def recommendations = service.parseBom(bom, project, new HashSet<String>(), true)
+
+        then:
+        !(recommendations instanceof LazyBomRecommendations)
+        recommendations == ['sample:plain': '1.0']
+    }
+
+    private File pom(String group, String artifact, String version, String body) {
+        def dir = new File(repo, "${group.replace('.', '/')}/${artifact}/${version}")
+        dir.mkdirs()
+        def file = new File(dir, "${artifact}-${version}.pom")
+        file.text = """\
+            |<?xml version="1.0" encoding="UTF-8"?>
+            |<project xmlns="http://maven.apache.org/POM/4.0.0">
+            |  <modelVersion>4.0.0</modelVersion>
+            |  <groupId>${group}</groupId>
+            |  <artifactId>${artifact}</artifactId>
+            |  <version>${version}</version>
+            |${body.stripIndent()}
+            |</project>
+            |""".stripMargin()
+        return file
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.service
+
+import netflix.nebula.dependency.recommender.provider.RecommendationProviderContainer
+import netflix.nebula.dependency.recommender.util.BomResolutionUtil
+import org.gradle.api.Project
+import org.gradle.testfixtures.ProjectBuilder
+import spock.lang.Specification
+
+class PendingBomResolutionServiceSpec extends Specification {
+    Project root
+    Project sub
+    RecommendationProviderContainer container
+
+    def setup() {
+        root = ProjectBuilder.builder().build()
+        sub = ProjectBuilder.builder().withName('sub').withParent(root).build()
+        container = Mock(RecommendationProviderContainer)
+    }
+
+    def 'projects waiting for batched resolution are held by the build service of their build'() {
+        when:
+        BomResolutionUtil.eagerlyResolveBomsWhenProjectsEvaluated(root, container, 'nebulaRecommenderBom')
+        BomResolutionUtil.eagerlyResolveBomsWhenProjectsEvaluated(sub, container, 'nebulaRecommenderBom')
+        // a subproject is recorded both from its own project and from its parent
+        BomResolutionUtil.eagerlyResolveBomsWhenProjectsEvaluated(sub, container, 'nebulaRecommenderBom')
+        def pending = PendingBomResolutionService.register(root).get().takeAll()
+
+        then:
+        pending.keySet() == ['nebulaRecommenderBom'] as Set
+        pending['nebulaRecommenderBom']*.project == [root, sub]
+        PendingBomResolutionService.register(sub).get().takeAll().isEmpty()
+    }
+
+    def 'only the first project recorded schedules the resolution'() {
+        setup:
+        def service = PendingBomResolutionService.register(root).get()
+
+        expect:
+        service.record('nebulaRecommenderBom', root, container)
+        !service.record('nebulaRecommenderBom', sub, container)
+        !service.record('otherBom', sub, container)
+    }
+
+    def 'recorded projects are dropped when the service is closed'() {
+        setup:
+        def service = PendingBomResolutionService.register(root).get()
+        service.record('nebulaRecommenderBom', root, container)
+
+        when:
+        service.close()
+
+        then:
+        service.takeAll().isEmpty()
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.service
+
+import netflix.nebula.dependency.recommender.DependencyRecommendationsPlugin
+import netflix.nebula.dependency.recommender.provider.RecommendationProviderContainer
+import org.gradle.api.Project
+import org.gradle.testfixtures.ProjectBuilder
+import spock.lang.Specification
+
+class ProjectRecommendationServiceSpec extends Specification {
+    Project root
+    Project library
+    ProjectRecommendationService service
+
+    def setup() {
+        root = ProjectBuilder.builder().withName('root').build()
+        library = ProjectBuilder.builder().withName('library').withParent(ProjectBuilder.builder().withName('libs').withParent(root).build()).build()
+        [root, library].each {
+            it.apply plugin: 'java'
+            it.apply plugin: DependencyRecommendationsPlugin
+        }
+        service = ProjectRecommendationService.register(root).get()
+    }
+
+    private void publish(Project... projects) {
+        projects.each {
+            service.publish(it, it.extensions.getByType(RecommendationProviderContainer), DependencyRecommendationsPlugin.NEBULA_RECOMMENDER_BOM)
+        }
+    }
+
+    def 'recommendations are looked up in the published ancestors of a project'() {
+        setup:
+        root.dependencyRecommendations {
+            map recommendations: ['commons-logging:commons-logging': '1.0', 'com.google.guava:guava': '18.0']
+        }
+        library.dependencyRecommendations {
+            map recommendations: ['commons-logging:commons-logging': '1.1']
+        }
+        publish(root, library)
+
+        expect:
+        service.getRecommendedVersion(':libs:library', 'commons-logging', 'commons-logging') == '1.1'
+        service.getRecommendedVersion(':libs:library', 'com.google.guava', 'guava') == '18.0'
+        service.getRecommendedVersion(':libs', 'commons-logging', 'commons-logging') == '1.0'
+        service.getRecommendedVersion(':libs:library', 'not', 'recommended') == null
+        service.getSnapshot(':libs:library').versions == ['com.google.guava:guava': '18.0', 'commons-logging:commons-logging': '1.1']
+    }
+
+    def 'projects are published as they are when they publish themselves'() {
+        setup:
+        root.dependencyRecommendations {
+            map recommendations: ['commons-logging:commons-logging': '1.0']
+        }
+        root.dependencies {
+            implementation 'commons-logging:commons-logging'
+        }
+        publish(root)
+
+        when:
+        root.dependencyRecommendations {
+            map recommendations: ['com.google.guava:guava': '18.0']
+        }
+        root.dependencies {
+            implementation 'com.google.guava:guava'
+        }
+
+        then:
+        service.getRecommendedVersion(':', 'commons-logging', 'commons-logging') == '1.0'
+        service.getRecommendedVersion(':', 'com.google.guava', 'guava') == null
+        service.getModules(':', 'runtimeClasspath')*.name == ['commons-logging']
+    }
+
+    def 'projects that have not been published are skipped'() {
+        setup:
+        root.dependencyRecommendations {
+            map recommendations: ['commons-logging:commons-logging': '1.0']
+        }
+        publish(root)
+
+        expect:
+        service.getRecommendedVersion(':libs:library', 'commons-logging', 'commons-logging') == '1.0'
+        service.getModules(':libs:library', 'runtimeClasspath').empty
+    }
+
+    def 'dependencies are read from the published configurations of a project'() {
+        setup:
+        library.dependencies {
+            implementation 'commons-logging:commons-logging:1.1'
+            implementation root
+        }
+        root.dependencies {
+            nebulaRecommenderBom 'com.example:bom:1.0@pom'
+        }
+        publish(root, library)
+
+        expect:
+        service.getModules(':libs:library', 'runtimeClasspath')*.toString() == ['commons-logging:commons-logging:1.1']
+        service.getProjectDependencies(':libs:library', 'runtimeClasspath')*.key == [':']
+        service.getModules(':libs:library', 'missing').empty
+        service.getModules(':unknown', 'runtimeClasspath').empty
+        service.getBomDependencies(':')*.name == ['bom']
+        service.getBomDependencies(':libs:library').empty
+    }
+
+    def 'parent paths'() {
+        expect:
+        ProjectRecommendationService.parentPath(path) == parent
+
+        where:
+        path       | parent
+        ':'        | null
+        ':a'       | ':'
+        ':a:b'     | ':a'
+        ':a:b:c'   | ':a:b'
+    }
+}
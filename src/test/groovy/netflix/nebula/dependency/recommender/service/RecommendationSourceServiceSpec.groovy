@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.service
+
+import org.gradle.testfixtures.ProjectBuilder
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class RecommendationSourceServiceSpec extends Specification {
+    @Rule TemporaryFolder projectDir
+
+    RecommendationSourceService newService() {
+        RecommendationSourceService.register(ProjectBuilder.builder().withProjectDir(projectDir.newFolder()).build()).get()
+    }
+
+    def 'file identities are only rehashed when the size or modification time changes'() {
+        setup:
+        def service = newService()
+        def file = projectDir.newFile('recommendations.properties')
+        file.text = 'guava=18.0'
+        file.setLastModified(1_000_000)
+        def original = service.fileIdentity(file)
+
+        when: // same size and modification time, so the remembered hash is reused
+        file.text = 'guava=19.0'
+        file.setLastModified(1_000_000)
+
+        then:
+        service.fileIdentity(file) == original
+
+        when:
+        file.setLastModified(2_000_000)
+
+        then:
+        service.fileIdentity(file) != original
+    }
+
+    def 'file identities are only remembered for the build'() {
+        setup:
+        def file = projectDir.newFile('recommendations.properties')
+        file.text = 'guava=18.0'
+        file.setLastModified(1_000_000)
+        def original = newService().fileIdentity(file)
+
+        when: // same size and modification time, but another build hashes the file again
+        file.text = 'guava=19.0'
+        file.setLastModified(1_000_000)
+
+        then:
+        newService().fileIdentity(file) != original
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.stats
+
+import groovy.json.JsonSlurper
+import netflix.nebula.dependency.recommender.DependencyRecommendationsPlugin
+import org.gradle.api.Project
+import org.gradle.api.internal.artifacts.DefaultModuleIdentifier
+import org.gradle.testfixtures.ProjectBuilder
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class RecommendationStatsTaskSpec extends Specification {
+    @Rule TemporaryFolder temp
+
+    Project project
+
+    def setup() {
+        project = ProjectBuilder.builder().withProjectDir(temp.newFolder('project')).build()
+        project.apply plugin: 'java'
+        project.apply plugin: DependencyRecommendationsPlugin
+    }
+
+    def 'statistics of a resolution are written as json'() {
+        setup:
+        project.dependencyRecommendations {
+            map recommendations: ['commons-logging:commons-logging': '1.1', 'com.google.*:*': '18.0'], name: 'first'
+            map recommendations: ['org.slf4j:slf4j-api': '1.7.0'], name: 'second'
+        }
+        project.configurations.compileClasspath.resolutionStrategy.force 'junit:junit:4.12'
+        project.dependencies {
+            implementation 'commons-logging:commons-logging'
+            implementation 'com.google.guava:guava'
+            implementation 'junit:junit'
+        }
+
+        when:
+        // nothing can be downloaded without repositories, but every dependency is still seen by eachDependency
+        project.configurations.compileClasspath.incoming.resolutionResult.allDependencies
+        RecommendationStatsTask task = project.tasks.getByName('recommendationStats') as RecommendationStatsTask
+        task.report()
+        def report = new JsonSlurper().parse(task.reportFile.get().asFile)
+
+        then:
+        report.project == ':'
+        report.dependencyCallbacks == 3
+        report.forcedModuleSkips == 1
+        report.globEvaluations == 1
+        report.providers == [
+                first: [polls: 2, hits: 2, hitRatio: 1.0],
+                second: [polls: 2, hits: 0, hitRatio: 0.0]
+        ]
+    }
+
+    def 'batch lookups count a poll per module'() {
+        setup:
+        project.dependencyRecommendations {
+            map recommendations: ['commons-logging:commons-logging': '1.1'], name: 'first'
+        }
+
+        when:
+        project.dependencyRecommendations.getRecommendedVersions([
+                DefaultModuleIdentifier.newId('commons-logging', 'commons-logging'),
+                DefaultModuleIdentifier.newId('not', 'recommended')
+        ])
+
+        then:
+        project.dependencyRecommendations.statistics.toMap().providers.first == [polls: 2L, hits: 1L, hitRatio: 0.5]
+    }
+}
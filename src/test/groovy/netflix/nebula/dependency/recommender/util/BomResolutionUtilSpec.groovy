@@ -83,6 +83,24 @@ class BomResolutionUtilSpec extends Specification {
         noExceptionThrown()
     }
 
+    def 'eagerlyResolveBomsWhenProjectsEvaluated throws IllegalArgumentException for null container'() {
+        when:
+        BomResolutionUtil.eagerlyResolveBomsWhenProjectsEvaluated(project, null, "testConfig")
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        e.message == "RecommendationProviderContainer cannot be null"
+    }
+
+    def 'eagerlyResolveBomsWhenProjectsEvaluated does not resolve before the projects are evaluated'() {
+        when:
+        BomResolutionUtil.eagerlyResolveBomsWhenProjectsEvaluated(project, container, "testConfig")
+
+        then:
+        0 * container.getMavenBomProvider()
+        0 * container.eagerlyResolveModuleSources()
+    }
+
     def 'shouldEagerlyResolveBoms throws IllegalArgumentException for null project'() {
         when:
         BomResolutionUtil.shouldEagerlyResolveBoms(null, container)
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 Netflix, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package netflix.nebula.dependency.recommender.util
+
+import spock.lang.Specification
+
+class ConfigurationNameMatcherSpec extends Specification {
+    def 'configurations are excluded by name, prefix or pattern'() {
+        setup:
+        def matcher = ConfigurationNameMatcher.compile(['zinc', 'checkstyle'], ['spotbugs', 'incrementalScalaAnalysis'],
+                ['*Scala*', 'jacoco?gent', 'regex:detekt(Plugins)?'])
+
+        expect:
+        matcher.isExcluded(name) == excluded
+        // asked again, from the cache
+        matcher.isExcluded(name) == excluded
+
+        where:
+        name                               | excluded
+        'zinc'                             | true
+        'zincClasspath'                    | false
+        'spotbugs'                         | true
+        'spotbugsPlugins'                  | true
+        'spot'                             | false
+        'incrementalScalaAnalysisFormain'  | true
+        'compileScalaClasspath'            | true
+        'jacocoAgent'                      | true
+        'jacocoAnt'                        | false
+        'detekt'                           | true
+        'detektPlugins'                    | true
+        'detektClasspath'                  | false
+        'compileClasspath'                 | false
+    }
+
+    def 'nothing is excluded without exclusions'() {
+        expect:
+        !ConfigurationNameMatcher.compile([], [], []).isExcluded('compileClasspath')
+    }
+
+    def 'globs are quoted apart from their wildcards'() {
+        expect:
+        ConfigurationNameMatcher.compile([], [], ['a.b*']).isExcluded('a.bc')
+        !ConfigurationNameMatcher.compile([], [], ['a.b*']).isExcluded('axbc')
+    }
+
+    def 'classpath configurations'() {
+        expect:
+        ConfigurationNameMatcher.isClasspathConfiguration(name) == classpath
+
+        where:
+        name                         | classpath
+        'compileClasspath'           | true
+        'testRuntimeClasspath'       | true
+        'annotationProcessor'        | true
+        'testAnnotationProcessor'    | true
+        'kaptAnnotationprocessor'    | true
+        'implementation'             | false
+        'processor'                  | false
+    }
+}